@@ -0,0 +1,43 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.WeightedQuickUnionUF;
+
+/**
+ * adapter for the algs4 WeightedQuickUnionUF used by Percolation
+ * the algs4 class cannot be cleared, so reset() builds a new one
+ */
+public class Algs4UF implements UnionFind {
+
+    private final int length;
+    private WeightedQuickUnionUF uf;
+
+
+    /**
+     * constructor for Algs4UF
+     */
+    public Algs4UF(int length) {
+        if (length < 0) throw new IllegalArgumentException();
+        this.length = length;
+        reset();
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int find(int p) {
+        return uf.find(p);
+    }
+
+    public int link(int rootP, int rootQ) {
+        uf.union(rootP, rootQ);
+        return uf.find(rootP);
+    }
+
+    public void reset() {
+        uf = new WeightedQuickUnionUF(length);
+    }
+}
@@ -1,13 +1,15 @@
 /******************************************************************************
  *  Compilation:  javac InteractivePercolationVisualizer.java
  *  Execution:    java InteractivePercolationVisualizer n
- *  Dependencies: PercolationVisualizer.java Percolation.java
+ *  Dependencies: PercolationRenderer.java PercolationGrid.java
  *                StdDraw.java StdOut.java
  *
  *  This program takes the grid size n as a command-line argument.
  *  Then, the user repeatedly clicks sites to open with the mouse.
  *  After each site is opened, it draws full sites in light blue,
  *  open sites (that aren't full) in white, and blocked sites in black.
+ *  Only the sites that changed are repainted, at most MAX_FPS times a second,
+ *  so large grids stay responsive.
  *
  ******************************************************************************/
 
@@ -16,6 +18,9 @@ import edu.princeton.cs.algs4.StdOut;
 
 public class InteractivePercolationVisualizer {
 
+    // maximum number of frames shown per second
+    private static final int MAX_FPS = 60;
+
     public static void main(String[] args) {
         // n-by-n percolation system (read from command-line, default = 10)
         int n = 10;          
@@ -25,9 +30,8 @@ public class InteractivePercolationVisualizer {
         StdOut.println(n);
 
         StdDraw.enableDoubleBuffering();
-        Percolation perc = new Percolation(n);
-        PercolationVisualizer.draw(perc, n);
-        StdDraw.show();
+        PercolationGrid perc = new PercolationGrid(n);
+        PercolationRenderer renderer = new PercolationRenderer(perc, MAX_FPS);
 
         while (true) {
 
@@ -49,12 +53,11 @@ public class InteractivePercolationVisualizer {
                     }
                     perc.open(i, j);
                 }
-
-                // draw n-by-n percolation system
-                PercolationVisualizer.draw(perc, n);
-                StdDraw.show();
             }
 
+            // draw the sites that changed since the last frame
+            renderer.render();
+
             StdDraw.pause(20);
         }
     }
@@ -0,0 +1,179 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+/**
+ * geometry of a percolation lattice with n sites along every axis
+ *
+ * sites are numbered row by row: a 2D site is row * n + x and a 3D site is
+ * (row * n + y) * n + x, with the percolation running from row 0 (top) to row n - 1
+ * (bottom). with periodic boundaries the x and y axes wrap around; the row axis never
+ * does, otherwise top and bottom would be connected by definition.
+ *
+ * the neighbour offsets of every topology are computed once in the constructor,
+ * so finding a neighbour is only a few additions and bounds checks
+ */
+public class Lattice {
+
+    /**
+     * the available topologies
+     */
+    public enum Type {
+        // 2D square lattice, 4 neighbours (the Percolation grid)
+        SQUARE,
+
+        // 2D triangular lattice as a square grid plus one diagonal, 6 neighbours
+        TRIANGULAR,
+
+        // 2D honeycomb lattice as a brick wall, 3 neighbours (the vertical one alternates)
+        HONEYCOMB,
+
+        // 3D simple cubic lattice, 6 neighbours
+        CUBIC
+    }
+
+    // variables
+    private final Type type;
+    private final int n;
+    private final boolean periodic;
+    private final int sites;
+
+    // offsets along the row, x and y axes of every neighbour direction
+    private final int[] dRow;
+    private final int[] dX;
+    private final int[] dY;
+
+
+    /**
+     * constructor for Lattice
+     * periodic lattices need n >= 3 (and an even n for HONEYCOMB) so that no two
+     * directions of a site wrap around to the same neighbour
+     */
+    public Lattice(Type type, int n, boolean periodic) {
+        // check the type and the value of n
+        if (type == null || n < 1) throw new IllegalArgumentException();
+        if (periodic && (n < 3 || (type == Type.HONEYCOMB && n % 2 != 0)))
+            throw new IllegalArgumentException();
+
+        long numSites = type == Type.CUBIC ? (long) n * n * n : (long) n * n;
+        if (numSites > Integer.MAX_VALUE) throw new IllegalArgumentException();
+
+        this.type = type;
+        this.n = n;
+        this.periodic = periodic;
+        sites = (int) numSites;
+
+        // neighbour offsets as {row, x, y}
+        int[][] offsets;
+        switch (type) {
+            case SQUARE:
+                offsets = new int[][] { { 0, -1, 0 }, { 0, 1, 0 }, { -1, 0, 0 }, { 1, 0, 0 } };
+                break;
+            case TRIANGULAR:
+                offsets = new int[][] {
+                        { 0, -1, 0 }, { 0, 1, 0 }, { -1, 0, 0 }, { 1, 0, 0 }, { -1, 1, 0 },
+                        { 1, -1, 0 }
+                };
+                break;
+            case HONEYCOMB:
+                // the third direction is down on even (row + x) and up on odd (row + x)
+                offsets = new int[][] { { 0, -1, 0 }, { 0, 1, 0 }, { 1, 0, 0 } };
+                break;
+            default:
+                offsets = new int[][] {
+                        { 0, -1, 0 }, { 0, 1, 0 }, { -1, 0, 0 }, { 1, 0, 0 }, { 0, 0, -1 },
+                        { 0, 0, 1 }
+                };
+                break;
+        }
+
+        dRow = new int[offsets.length];
+        dX = new int[offsets.length];
+        dY = new int[offsets.length];
+        for (int k = 0; k < offsets.length; k++) {
+            dRow[k] = offsets[k][0];
+            dX[k] = offsets[k][1];
+            dY[k] = offsets[k][2];
+        }
+    }
+
+    // returns the topology
+    public Type type() {
+        return type;
+    }
+
+    // returns the number of sites along every axis
+    public int size() {
+        return n;
+    }
+
+    // do the x and y axes wrap around?
+    public boolean isPeriodic() {
+        return periodic;
+    }
+
+    // returns the number of sites
+    public int sites() {
+        return sites;
+    }
+
+    // returns the number of neighbour directions
+    public int degree() {
+        return dRow.length;
+    }
+
+    // is the site on the top row (layer)?
+    public boolean isTop(int site) {
+        return row(site) == 0;
+    }
+
+    // is the site on the bottom row (layer)?
+    public boolean isBottom(int site) {
+        return row(site) == n - 1;
+    }
+
+
+    /**
+     * returns the neighbour of the site in direction k (0 to degree() - 1),
+     * or -1 if that neighbour is outside the lattice
+     */
+    public int neighbour(int site, int k) {
+        int x = site % n;
+        int rest = site / n;
+        int y = type == Type.CUBIC ? rest % n : 0;
+        int row = type == Type.CUBIC ? rest / n : rest;
+
+        // the row axis never wraps
+        int step = dRow[k];
+        if (type == Type.HONEYCOMB && step != 0 && (row + x) % 2 != 0) step = -step;
+        int newRow = row + step;
+        if (newRow < 0 || newRow >= n) return -1;
+
+        int newX = wrap(x + dX[k]);
+        int newY = wrap(y + dY[k]);
+        if (newX < 0 || newY < 0) return -1;
+
+        if (type == Type.CUBIC) return (newRow * n + newY) * n + newX;
+        return newRow * n + newX;
+    }
+
+
+    /**
+     * returns the coordinate wrapped around for periodic lattices,
+     * or -1 if it is outside a non-periodic lattice
+     */
+    private int wrap(int coordinate) {
+        if (coordinate >= 0 && coordinate < n) return coordinate;
+        if (!periodic) return -1;
+        return coordinate < 0 ? coordinate + n : coordinate - n;
+    }
+
+
+    /**
+     * returns the row (percolation axis coordinate) of the site
+     */
+    private int row(int site) {
+        return type == Type.CUBIC ? site / (n * n) : site / n;
+    }
+}
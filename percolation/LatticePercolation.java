@@ -0,0 +1,233 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.Arrays;
+
+/**
+ * site or bond percolation on any Lattice, reusable across trials
+ *
+ * the elements that get opened are the sites (site percolation) or the bonds between
+ * neighbouring sites (bond percolation, where every site is open). like
+ * PercolationGrid it uses a single union-find over the sites with top/bottom flags
+ * on the roots, so there are no virtual nodes and no backwash
+ */
+public class LatticePercolation {
+
+    /**
+     * what gets opened
+     */
+    public enum Model {
+        SITE,
+        BOND
+    }
+
+    // flags kept on the root of every component
+    private static final byte CONNECTED_TOP = 1;
+    private static final byte CONNECTED_BOTTOM = 2;
+    private static final byte CONNECTED_BOTH = CONNECTED_TOP | CONNECTED_BOTTOM;
+
+    // variables
+    private final Lattice lattice;
+    private final Model model;
+
+    // union-find over the sites and the top/bottom flags of the roots
+    private final UnionFind uf;
+    private final byte[] flags;
+
+    // the two end sites of every bond (bond model only)
+    private final int[] bondFrom;
+    private final int[] bondTo;
+
+    // open elements and the counter for the total number of open elements
+    private final SiteBitSet open;
+    private int totOpen;
+
+    // set once some component touches both the top and the bottom
+    private boolean percolates;
+
+
+    /**
+     * constructor for LatticePercolation, every element starts blocked
+     */
+    public LatticePercolation(Lattice lattice, Model model) {
+        if (lattice == null || model == null) throw new IllegalArgumentException();
+
+        this.lattice = lattice;
+        this.model = model;
+        int sites = lattice.sites();
+        uf = UnionFind.Kind.PATH_HALVING.create(sites);
+        flags = new byte[sites];
+
+        if (model == Model.BOND) {
+            // list every bond once, from the site with the smaller id
+            int numBonds = 0;
+            for (int site = 0; site < sites; site++) {
+                for (int k = 0; k < lattice.degree(); k++) {
+                    if (lattice.neighbour(site, k) > site) numBonds++;
+                }
+            }
+            bondFrom = new int[numBonds];
+            bondTo = new int[numBonds];
+            int bond = 0;
+            for (int site = 0; site < sites; site++) {
+                for (int k = 0; k < lattice.degree(); k++) {
+                    int other = lattice.neighbour(site, k);
+                    if (other > site) {
+                        bondFrom[bond] = site;
+                        bondTo[bond] = other;
+                        bond++;
+                    }
+                }
+            }
+            if (numBonds == 0) throw new IllegalArgumentException();
+            open = new SiteBitSet(numBonds);
+        } else {
+            bondFrom = null;
+            bondTo = null;
+            open = new SiteBitSet(sites);
+        }
+
+        reset();
+    }
+
+
+    /**
+     * blocks every element again without allocating
+     */
+    public void reset() {
+        uf.reset();
+        Arrays.fill(flags, (byte) 0);
+        open.clear();
+        totOpen = 0;
+        percolates = false;
+
+        // with bonds every site is open, so the boundary sites carry their flags from the start
+        if (model == Model.BOND) {
+            for (int site = 0; site < flags.length; site++) markBoundary(site);
+        }
+    }
+
+    // returns the lattice
+    public Lattice lattice() {
+        return lattice;
+    }
+
+    // returns the percolation model
+    public Model model() {
+        return model;
+    }
+
+    // returns the number of elements that can be opened (sites or bonds)
+    public int elements() {
+        return open.length();
+    }
+
+
+    /**
+     * opens the given element (site or bond id) if it is not open already
+     */
+    public void open(int element) {
+        checkElement(element);
+        if (open.get(element)) return;
+
+        open.set(element);
+        totOpen++;
+
+        if (model == Model.BOND) {
+            union(bondFrom[element], bondTo[element]);
+            return;
+        }
+
+        // sites on the top or bottom start with the matching flag
+        markBoundary(element);
+
+        // make connections to every open neighbour
+        for (int k = 0; k < lattice.degree(); k++) {
+            int other = lattice.neighbour(element, k);
+            if (other >= 0 && open.get(other)) union(element, other);
+        }
+    }
+
+    // is the given element (site or bond id) open?
+    public boolean isOpen(int element) {
+        checkElement(element);
+        return open.get(element);
+    }
+
+    // is the given site connected to the top through open elements?
+    public boolean isFull(int site) {
+        if (site < 0 || site >= flags.length) throw new IllegalArgumentException();
+        return (flags[uf.find(site)] & CONNECTED_TOP) != 0;
+    }
+
+    // returns the number of open elements
+    public int numberOfOpen() {
+        return totOpen;
+    }
+
+    // does the system percolate?
+    public boolean percolates() {
+        return percolates;
+    }
+
+
+    /**
+     * gives a site on the top or bottom the matching flag
+     * separate if-statements because the lattice might be a single row
+     */
+    private void markBoundary(int site) {
+        if (lattice.isTop(site)) flags[site] |= CONNECTED_TOP;
+        if (lattice.isBottom(site)) flags[site] |= CONNECTED_BOTTOM;
+        if (flags[site] == CONNECTED_BOTH) percolates = true;
+    }
+
+
+    /**
+     * merges the components containing p and q
+     * the new root keeps the flags of both components
+     */
+    private void union(int p, int q) {
+        int rootP = uf.find(p);
+        int rootQ = uf.find(q);
+        if (rootP == rootQ) return;
+
+        byte merged = (byte) (flags[rootP] | flags[rootQ]);
+        flags[uf.link(rootP, rootQ)] = merged;
+        if (merged == CONNECTED_BOTH) percolates = true;
+    }
+
+
+    /**
+     * function that checks if an element id is valid
+     */
+    private void checkElement(int element) {
+        if (element < 0 || element >= open.length())
+            throw new IllegalArgumentException();
+    }
+
+    // test client: estimates the threshold of a lattice with seeded parallel trials
+    // usage: java LatticePercolation type n model trials seed [periodic]
+    // e.g.   java LatticePercolation CUBIC 40 BOND 100 1 true
+    public static void main(String[] args) {
+        Lattice.Type type = Lattice.Type.valueOf(args[0]);
+        int n = Integer.parseInt(args[1]);
+        Model model = Model.valueOf(args[2]);
+        int trials = Integer.parseInt(args[3]);
+        long seed = Long.parseLong(args[4]);
+        boolean periodic = args.length > 5 && Boolean.parseBoolean(args[5]);
+
+        Lattice lattice = new Lattice(type, n, periodic);
+        PercolationStats stats = new PercolationStats(lattice, model, trials, seed,
+                                                      Runtime.getRuntime().availableProcessors(),
+                                                      PercolationStats.Sampling.PERMUTATION);
+
+        StdOut.printf("mean                    = %f \n", stats.mean());
+        StdOut.printf("stddev                  = %f \n", stats.stddev());
+        StdOut.printf("95%% confidence interval = [%f, %f] \n", stats.confidenceLo(),
+                      stats.confidenceHi());
+    }
+}
@@ -0,0 +1,243 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * n-by-n percolation system for grids larger than the heap
+ *
+ * sites are indexed with longs, so n * n may exceed Integer.MAX_VALUE (n = 100,000 is
+ * 10^10 sites, about 90 GB of backing files); the union-find parents and the site
+ * flags live in memory-mapped files instead of java arrays. it uses the same single
+ * union-find with top/bottom root flags as PercolationGrid, and the
+ * open/isOpen/isFull/percolates API of Percolation
+ */
+public class MappedPercolation implements AutoCloseable {
+
+    // flags per site, the top/bottom ones are only meaningful for roots
+    private static final byte OPEN = 1;
+    private static final byte CONNECTED_TOP = 2;
+    private static final byte CONNECTED_BOTTOM = 4;
+    private static final byte CONNECTED_BOTH = CONNECTED_TOP | CONNECTED_BOTTOM;
+
+    // variables
+    private final int n;
+
+    // weighted quick-union with path halving, stored so that a zero-filled file is
+    // already initialised: a value v > 0 means the parent is v - 1, and a value
+    // v <= 0 marks a root whose component has 1 - v sites
+    private final MappedStore parent;
+
+    // open and top/bottom flags for every site
+    private final MappedStore flags;
+
+    // counter for the total number of open sites
+    private long totOpenSites = 0;
+
+    // set once some component touches both the top and the bottom row
+    private boolean percolates = false;
+
+
+    /**
+     * constructor for MappedPercolation with the backing files in the temp directory
+     */
+    public MappedPercolation(int n) {
+        this(n, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+
+    /**
+     * constructor for MappedPercolation with the backing files in the given directory
+     */
+    public MappedPercolation(int n, Path directory) {
+        // check the value of n
+        if (n < 1) {
+            throw new IllegalArgumentException();
+        }
+
+        // store the n value passed
+        this.n = n;
+
+        // create the zero-filled backing files (every site blocked and its own root)
+        // if the second one fails, the first is closed so its file is not left behind
+        long sites = (long) n * n;
+        parent = new MappedStore(directory, sites, 8);
+        try {
+            flags = new MappedStore(directory, sites, 1);
+        } catch (RuntimeException | Error e) {
+            try {
+                parent.close();
+            } catch (RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+
+    /**
+     * blocks every site again, reusing the backing files
+     */
+    public void reset() {
+        parent.clear();
+        flags.clear();
+        totOpenSites = 0;
+        percolates = false;
+    }
+
+
+    /**
+     * private function that checks if the row/col numbers are valid
+     * returns the corresponding (long) index into the site arrays
+     */
+    private long getArrayIndex(int row, int col) {
+        // check that the row and column indices are valid
+        checkIndex(row);
+        checkIndex(col);
+
+        // return the index into the array corresponding to row/col
+        return (long) (row - 1) * n + (col - 1);
+    }
+
+
+    /**
+     * function that checks if an index is valid
+     */
+    private void checkIndex(int index) {
+        if (index < 1 || index > n)
+            throw new IllegalArgumentException();
+    }
+
+
+    /**
+     * opens the site (row, col) if it is not open already
+     * forms connections with surrounding neighbours if they are open
+     */
+    public void open(int row, int col) {
+        long arrID = getArrayIndex(row, col);
+
+        // if the site is already open then do nothing
+        byte siteFlags = flags.getByte(arrID);
+        if ((siteFlags & OPEN) != 0) return;
+
+        // open the site and add to the counter of open sites
+        // sites on the top or bottom row start with the matching flag
+        // separate if-statements because n might be equal to 1
+        siteFlags |= OPEN;
+        if (row == 1) siteFlags |= CONNECTED_TOP;
+        if (row == n) siteFlags |= CONNECTED_BOTTOM;
+        flags.putByte(arrID, siteFlags);
+        totOpenSites++;
+        if ((siteFlags & CONNECTED_BOTH) == CONNECTED_BOTH) percolates = true;
+
+        // make connections to the left, right, top and bottom neighbours if they are open
+        if (col > 1) connect(arrID, arrID - 1);
+        if (col < n) connect(arrID, arrID + 1);
+        if (row > 1) connect(arrID, arrID - n);
+        if (row < n) connect(arrID, arrID + n);
+    }
+
+
+    /**
+     * connects the site to a neighbouring site if the neighbour is open
+     */
+    private void connect(long arrID, long neighbourID) {
+        if ((flags.getByte(neighbourID) & OPEN) != 0) union(arrID, neighbourID);
+    }
+
+    // is the site (row, col) open?
+    public boolean isOpen(int row, int col) {
+        return (flags.getByte(getArrayIndex(row, col)) & OPEN) != 0;
+    }
+
+    // is the site (row, col) full?
+    public boolean isFull(int row, int col) {
+        // blocked sites never carry flags, so they are never full
+        return (flags.getByte(find(getArrayIndex(row, col))) & CONNECTED_TOP) != 0;
+    }
+
+    // returns the number of open sites (a long, since it can exceed Integer.MAX_VALUE)
+    public long numberOfOpenSites() {
+        return totOpenSites;
+    }
+
+    // does the system percolate?
+    public boolean percolates() {
+        return percolates;
+    }
+
+
+    /**
+     * closes and deletes the backing files
+     */
+    public void close() {
+        try {
+            parent.close();
+        } finally {
+            flags.close();
+        }
+    }
+
+
+    /**
+     * returns the root of the component containing p, halving the path on the way
+     */
+    private long find(long p) {
+        long link = parent.getLong(p);
+        while (link > 0) {
+            long grandLink = parent.getLong(link - 1);
+            if (grandLink > 0) parent.putLong(p, grandLink);
+            p = grandLink > 0 ? grandLink - 1 : link - 1;
+            link = parent.getLong(p);
+        }
+        return p;
+    }
+
+
+    /**
+     * merges the components containing p and q, smaller tree below the larger one
+     * the new root keeps the flags of both components
+     */
+    private void union(long p, long q) {
+        long rootP = find(p);
+        long rootQ = find(q);
+        if (rootP == rootQ) return;
+
+        // roots store 1 - size, so the smaller value is the larger tree
+        long valueP = parent.getLong(rootP);
+        long valueQ = parent.getLong(rootQ);
+        if (valueP > valueQ) {
+            long tmp = rootP;
+            rootP = rootQ;
+            rootQ = tmp;
+        }
+        parent.putLong(rootP, valueP + valueQ - 1);
+        parent.putLong(rootQ, rootP + 1);
+
+        byte merged = (byte) (flags.getByte(rootP) | flags.getByte(rootQ));
+        flags.putByte(rootP, merged);
+        if ((merged & CONNECTED_BOTH) == CONNECTED_BOTH) percolates = true;
+    }
+
+    // test client: opens random sites until the system percolates
+    // usage: java MappedPercolation n [directory]
+    public static void main(String[] args) {
+        int n = Integer.parseInt(args[0]);
+        String directory = args.length > 1 ? args[1] : System.getProperty("java.io.tmpdir");
+
+        try (MappedPercolation perc = new MappedPercolation(n, Paths.get(directory))) {
+            long sites = (long) n * n;
+            while (!perc.percolates()) {
+                long arrID = StdRandom.uniform(sites);
+                perc.open((int) (arrID / n) + 1, (int) (arrID % n) + 1);
+            }
+            StdOut.printf("threshold = %f%n", (double) perc.numberOfOpenSites() / sites);
+        }
+    }
+}
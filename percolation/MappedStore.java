@@ -0,0 +1,114 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * long-indexed array of fixed-width elements kept in a memory-mapped temporary file
+ *
+ * a single MappedByteBuffer is limited to 2^31 bytes, so the file is mapped in
+ * segments of 2^30 bytes; the segment size is a multiple of 8 so a long never
+ * straddles two segments. the file starts out filled with zeros and is deleted
+ * by close()
+ */
+public class MappedStore implements AutoCloseable {
+
+    // 2^30 bytes per mapped segment
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final long length;
+    private final Path file;
+    private final RandomAccessFile raf;
+    private final MappedByteBuffer[] segments;
+
+
+    /**
+     * constructor for MappedStore
+     * creates a zero-filled file in the given directory with length elements of width bytes
+     */
+    public MappedStore(Path directory, long length, int width) {
+        if (length < 0 || (width != 1 && width != 8)) throw new IllegalArgumentException();
+        this.length = length;
+
+        long bytes = length * width;
+        int numSegments = (int) ((bytes + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        segments = new MappedByteBuffer[numSegments];
+
+        try {
+            file = Files.createTempFile(directory, "percolation", ".bin");
+            raf = new RandomAccessFile(file.toFile(), "rw");
+
+            // extending the file fills it with zeros (sparse on most file systems)
+            raf.setLength(bytes);
+            FileChannel channel = raf.getChannel();
+            for (int i = 0; i < numSegments; i++) {
+                long position = (long) i << SEGMENT_SHIFT;
+                long size = Math.min(SEGMENT_MASK + 1, bytes - position);
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // returns the number of elements
+    public long length() {
+        return length;
+    }
+
+    // returns the long element at index i (width 8 only)
+    public long getLong(long i) {
+        long offset = i << 3;
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+    }
+
+    // stores the long element at index i (width 8 only)
+    public void putLong(long i, long value) {
+        long offset = i << 3;
+        segments[(int) (offset >>> SEGMENT_SHIFT)].putLong((int) (offset & SEGMENT_MASK), value);
+    }
+
+    // returns the byte element at index i (width 1 only)
+    public byte getByte(long i) {
+        return segments[(int) (i >>> SEGMENT_SHIFT)].get((int) (i & SEGMENT_MASK));
+    }
+
+    // stores the byte element at index i (width 1 only)
+    public void putByte(long i, byte value) {
+        segments[(int) (i >>> SEGMENT_SHIFT)].put((int) (i & SEGMENT_MASK), value);
+    }
+
+
+    /**
+     * overwrites every element with zero
+     */
+    public void clear() {
+        for (MappedByteBuffer segment : segments) {
+            for (int i = 0; i + 8 <= segment.limit(); i += 8) segment.putLong(i, 0L);
+            for (int i = segment.limit() & ~7; i < segment.limit(); i++) segment.put(i, (byte) 0);
+        }
+    }
+
+
+    /**
+     * closes and deletes the backing file
+     * the mappings themselves are released once the buffers are garbage collected
+     */
+    public void close() {
+        try {
+            raf.close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import java.util.SplittableRandom;
+
+/**
+ * one Newman-Ziff sweep over an n-by-n grid
+ *
+ * instead of stopping when the system percolates, a sweep opens every site in a
+ * random order and records the state after each open, so a single trial gives the
+ * percolation indicator and the largest cluster size for every number of open sites
+ * k = 0 .. n * n at once. the grid and the curve buffers are reused by every sweep
+ */
+public class NewmanZiffSweep {
+
+    // variables
+    private final int n;
+    private final PercolationGrid perc;
+
+    // permutation of the site ids
+    private final int[] order;
+
+    // largestCluster[k] = size of the largest cluster after k sites were opened
+    private final int[] largestCluster;
+
+    // number of open sites when the last sweep first percolated
+    private int percolationIndex;
+
+
+    /**
+     * constructor for NewmanZiffSweep
+     */
+    public NewmanZiffSweep(int n) {
+        // check the value of n
+        if (n < 1) {
+            throw new IllegalArgumentException();
+        }
+
+        this.n = n;
+        perc = new PercolationGrid(n, UnionFind.Kind.PATH_HALVING.create(n * n));
+        order = new int[n * n];
+        largestCluster = new int[n * n + 1];
+    }
+
+
+    /**
+     * runs one sweep using the given random stream
+     * the curves can be read until the next call
+     */
+    public void run(SplittableRandom random) {
+        perc.reset();
+        percolationIndex = -1;
+        for (int i = 0; i < order.length; i++) order[i] = i;
+
+        // fisher-yates shuffle one step at a time, opening each site as it is drawn
+        for (int i = 0; i < order.length; i++) {
+            int j = i + random.nextInt(order.length - i);
+            int arrID = order[j];
+            order[j] = order[i];
+            order[i] = arrID;
+            perc.open(arrID / n + 1, arrID % n + 1);
+
+            largestCluster[i + 1] = perc.largestClusterSize();
+            if (percolationIndex < 0 && perc.percolates()) percolationIndex = i + 1;
+        }
+    }
+
+    // returns the grid size n
+    public int size() {
+        return n;
+    }
+
+    // returns the number of sites
+    public int sites() {
+        return order.length;
+    }
+
+    // returns the number of open sites at which the last sweep first percolated
+    public int percolationIndex() {
+        return percolationIndex;
+    }
+
+    // did the last sweep percolate with k open sites?
+    public boolean percolates(int k) {
+        return k >= percolationIndex;
+    }
+
+    // returns the largest cluster size of the last sweep with k open sites
+    public int largestClusterSize(int k) {
+        return largestCluster[k];
+    }
+}
@@ -0,0 +1,69 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import java.util.Arrays;
+
+/**
+ * weighted quick-union with path halving
+ * a single int array holds both the parent links and the sizes:
+ * parent[p] >= 0 is the parent of p, parent[root] = -(size of the component)
+ */
+public class PathHalvingUF implements UnionFind {
+
+    private final int[] parent;
+
+
+    /**
+     * constructor for PathHalvingUF
+     */
+    public PathHalvingUF(int length) {
+        if (length < 0) throw new IllegalArgumentException();
+        parent = new int[length];
+        reset();
+    }
+
+    public int length() {
+        return parent.length;
+    }
+
+    public int find(int p) {
+        // point every other node on the path to its grandparent
+        while (parent[p] >= 0) {
+            int grandparent = parent[parent[p]];
+            if (grandparent >= 0) parent[p] = grandparent;
+            p = parent[p];
+        }
+        return p;
+    }
+
+    public int link(int rootP, int rootQ) {
+        // the sizes are stored negated, so the smaller value is the larger tree
+        if (parent[rootP] > parent[rootQ]) {
+            int tmp = rootP;
+            rootP = rootQ;
+            rootQ = tmp;
+        }
+        parent[rootP] += parent[rootQ];
+        parent[rootQ] = rootP;
+        return rootP;
+    }
+
+    public void reset() {
+        Arrays.fill(parent, -1);
+    }
+
+    public int size(int root) {
+        return -parent[root];
+    }
+
+    public int depth(int p) {
+        int depth = 0;
+        while (parent[p] >= 0) {
+            p = parent[p];
+            depth++;
+        }
+        return depth;
+    }
+}
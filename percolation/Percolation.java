@@ -1,6 +1,6 @@
 /* *****************************************************************************
  *  Name:              Blake Martin
- *  Last modified:     03/01/2021
+ *  Last modified:     10/18/2026
  **************************************************************************** */
 
 import edu.princeton.cs.algs4.WeightedQuickUnionUF;
@@ -17,7 +17,7 @@ public class Percolation {
     private final WeightedQuickUnionUF ufNoVirtualBottom;
 
     // counter for the total number of open sites
-    private boolean[] openSites;
+    private final SiteBitSet openSites;
     private int totOpenSites = 0;
 
 
@@ -41,9 +41,8 @@ public class Percolation {
         uf = new WeightedQuickUnionUF(n * n + 2);
         ufNoVirtualBottom = new WeightedQuickUnionUF(n * n + 1);
 
-        // create the array that keeps track of open sites
-        openSites = new boolean[n * n];
-        for (int i = 0; i < n * n; i++) openSites[i] = false;
+        // create the bit set that keeps track of open sites (starts all blocked)
+        openSites = new SiteBitSet(n * n);
 
     }
 
@@ -86,7 +85,7 @@ public class Percolation {
         // open the site
         // if on the top or bottom row connect to the virtual top/bottom
         int arrID = getArrayIndex(row, col);
-        openSites[arrID] = true;
+        openSites.set(arrID);
 
         // separate if-statements because n might be equal to 1
         if (row == 1) {
@@ -133,7 +132,7 @@ public class Percolation {
         int arrID = getArrayIndex(row, col);
 
         // check if it is open
-        return openSites[arrID];
+        return openSites.get(arrID);
     }
 
     // is the site (row, col) full?
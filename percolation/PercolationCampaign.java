@@ -0,0 +1,215 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.StdOut;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * long seeded PercolationStats run that survives restarts
+ *
+ * the trials run in fixed batches; after every batch its statistics are appended to a
+ * checkpoint file and synced to disk. trial i always uses random stream i of the seed,
+ * so the next trial index is the whole RNG position. a campaign started on an existing
+ * checkpoint skips the batches it already holds and merges them in the same order, so
+ * the final statistics are exactly those of an uninterrupted run with the same seed and
+ * batch size.
+ *
+ * checkpoint format (big-endian):
+ *   header: int MAGIC, int n, int trials, long seed, int sampling ordinal, int batch size
+ *   batch:  int first trial, int last trial + 1, long count, double mean, double m2
+ * a batch record cut short by a crash is ignored and the batch is run again. only a
+ * missing or empty file starts a new campaign: a non-empty file with a short or foreign
+ * header is rejected rather than overwritten, since it may be someone else's data
+ */
+public class PercolationCampaign {
+
+    // "PCP1"
+    private static final int MAGIC = 0x50435031;
+
+    // bytes in the header
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 4 + 4;
+
+    // bytes in one batch record
+    private static final int RECORD_BYTES = 4 + 4 + 8 + 8 + 8;
+
+    // variables
+    private final PercolationStats stats;
+    private final int resumedTrials;
+
+
+    /**
+     * runs (or resumes) trials on an n-by-n grid, checkpointing every batchSize trials
+     * throws IllegalArgumentException if the checkpoint belongs to a different campaign,
+     * is not a checkpoint, or is too short to hold a header
+     */
+    public PercolationCampaign(int n, int trials, long seed, int threads,
+                               PercolationStats.Sampling sampling, int batchSize,
+                               Path checkpoint) {
+        // check the arguments
+        if (n < 1 || trials < 1 || threads < 1 || sampling == null || batchSize < 1
+                || checkpoint == null) {
+            throw new IllegalArgumentException();
+        }
+
+        try {
+            // restore the batches that are already done
+            RunningStats results = new RunningStats();
+            long size = Files.exists(checkpoint) ? Files.size(checkpoint) : 0;
+            if (size == 0) {
+                writeHeader(checkpoint, n, trials, seed, sampling, batchSize);
+            } else if (size < HEADER_BYTES) {
+                throw new IllegalArgumentException("truncated checkpoint header (" + size
+                                                           + " bytes): " + checkpoint);
+            } else {
+                restore(checkpoint, n, trials, seed, sampling, batchSize, results);
+            }
+            resumedTrials = (int) results.count();
+
+            // run the remaining batches, appending each one to the checkpoint
+            ThreadLocal<PercolationStats.Worker> workers = PercolationStats.workers(n, sampling);
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try (FileOutputStream file = new FileOutputStream(checkpoint.toFile(), true)) {
+                DataOutputStream out = new DataOutputStream(file);
+                for (int lo = resumedTrials; lo < trials; lo += batchSize) {
+                    int hi = (int) Math.min(trials, (long) lo + batchSize);
+                    RunningStats batch = PercolationStats.runTrials(pool, workers, seed, lo, hi);
+                    results.merge(batch);
+
+                    out.writeInt(lo);
+                    out.writeInt(hi);
+                    out.writeLong(batch.count());
+                    out.writeDouble(batch.mean());
+                    out.writeDouble(batch.m2());
+                    out.flush();
+                    file.getFD().sync();
+                }
+            } finally {
+                pool.shutdown();
+            }
+
+            stats = new PercolationStats(results);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // returns the statistics of all the trials of the campaign
+    public PercolationStats stats() {
+        return stats;
+    }
+
+    // returns the number of trials restored from the checkpoint instead of being run
+    public int resumedTrials() {
+        return resumedTrials;
+    }
+
+
+    /**
+     * writes the header of a new checkpoint file and syncs it to disk
+     */
+    private static void writeHeader(Path checkpoint, int n, int trials, long seed,
+                                    PercolationStats.Sampling sampling, int batchSize)
+            throws IOException {
+        try (FileOutputStream file = new FileOutputStream(checkpoint.toFile())) {
+            DataOutputStream out = new DataOutputStream(file);
+            out.writeInt(MAGIC);
+            out.writeInt(n);
+            out.writeInt(trials);
+            out.writeLong(seed);
+            out.writeInt(sampling.ordinal());
+            out.writeInt(batchSize);
+            out.flush();
+            file.getFD().sync();
+        }
+    }
+
+
+    /**
+     * checks the header of an existing checkpoint and merges its complete batch records
+     * into results, then cuts off a trailing partial record so new batches append cleanly
+     */
+    private static void restore(Path checkpoint, int n, int trials, long seed,
+                                PercolationStats.Sampling sampling, int batchSize,
+                                RunningStats results) throws IOException {
+        long validBytes;
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(checkpoint))) {
+            DataInputStream in = new DataInputStream(file);
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("not a checkpoint file: " + checkpoint);
+            }
+            if (in.readInt() != n || in.readInt() != trials
+                    || in.readLong() != seed || in.readInt() != sampling.ordinal()
+                    || in.readInt() != batchSize) {
+                throw new IllegalArgumentException("checkpoint belongs to another campaign");
+            }
+            validBytes = HEADER_BYTES;
+
+            // batches are stored in order, each starting where the last one ended
+            int expectedLo = 0;
+            while (true) {
+                int lo, hi;
+                long count;
+                double mean, m2;
+                try {
+                    lo = in.readInt();
+                    hi = in.readInt();
+                    count = in.readLong();
+                    mean = in.readDouble();
+                    m2 = in.readDouble();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (lo != expectedLo || hi - lo != count)
+                    throw new IllegalArgumentException("corrupt checkpoint");
+
+                results.merge(new RunningStats(count, mean, m2));
+                expectedLo = hi;
+                validBytes += RECORD_BYTES;
+            }
+        }
+
+        // drop a record that was only partly written
+        if (Files.size(checkpoint) != validBytes) {
+            try (FileOutputStream file = new FileOutputStream(checkpoint.toFile(), true)) {
+                file.getChannel().truncate(validBytes);
+            }
+        }
+    }
+
+    // test client
+    // usage: java PercolationCampaign n trials seed checkpoint [threads] [batchSize]
+    public static void main(String[] args) {
+        int n = Integer.parseInt(args[0]);
+        int trials = Integer.parseInt(args[1]);
+        long seed = Long.parseLong(args[2]);
+        Path checkpoint = Paths.get(args[3]);
+        int threads = args.length >= 5 ? Integer.parseInt(args[4])
+                                       : Runtime.getRuntime().availableProcessors();
+        int batchSize = args.length >= 6 ? Integer.parseInt(args[5]) : 256;
+
+        PercolationCampaign campaign = new PercolationCampaign(
+                n, trials, seed, threads, PercolationStats.Sampling.PERMUTATION, batchSize,
+                checkpoint);
+        PercolationStats stats = campaign.stats();
+
+        StdOut.printf("resumed trials          = %d \n", campaign.resumedTrials());
+        StdOut.printf("mean                    = %.17f \n", stats.mean());
+        StdOut.printf("stddev                  = %.17f \n", stats.stddev());
+        StdOut.printf("95%% confidence interval = [%f, %f] \n", stats.confidenceLo(),
+                      stats.confidenceHi());
+    }
+}
@@ -0,0 +1,286 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * percolation probability and largest cluster curves aggregated over Newman-Ziff sweeps
+ *
+ * sweeps are added one at a time, so only the running sums are kept. the curves are
+ * available per number of open sites k ("canonical") and, by convolving with the
+ * binomial distribution, for any site vacancy probability p ("grand canonical").
+ * all sums are exact integers, so merging partial results in any order gives the same
+ * curves
+ */
+public class PercolationCurves {
+
+    // number of trials a fork-join task runs itself instead of splitting further
+    private static final int TRIALS_PER_TASK = 4;
+
+    // binomial weights below this fraction of the peak are ignored
+    private static final double WEIGHT_CUTOFF = 1e-15;
+
+    // variables
+    private final int sites;
+    private int trials = 0;
+
+    // number of sweeps that percolated at exactly k open sites (summed later)
+    private final long[] percolatedAt;
+
+    // sum over all sweeps of the largest cluster size with k open sites
+    private final long[] largestSum;
+
+
+    /**
+     * constructor for an empty set of curves on an n-by-n grid
+     */
+    public PercolationCurves(int n) {
+        // check the value of n
+        if (n < 1) {
+            throw new IllegalArgumentException();
+        }
+
+        sites = n * n;
+        percolatedAt = new long[sites + 1];
+        largestSum = new long[sites + 1];
+    }
+
+
+    /**
+     * runs the given number of seeded sweeps on an n-by-n grid using the given number of threads
+     * trial i uses the same random stream as trial i of a seeded PercolationStats run, and
+     * the result does not depend on the number of threads
+     */
+    public static PercolationCurves run(int n, int trials, long seed, int threads) {
+        // check the value of n, trials and threads
+        if (n < 1 || trials < 1 || threads < 1) {
+            throw new IllegalArgumentException();
+        }
+
+        // every worker thread keeps one sweep and one set of partial curves
+        List<PercolationCurves> created = new ArrayList<>();
+        ThreadLocal<NewmanZiffSweep> sweeps = ThreadLocal.withInitial(() -> new NewmanZiffSweep(n));
+        ThreadLocal<PercolationCurves> partials = ThreadLocal.withInitial(() -> {
+            PercolationCurves partial = new PercolationCurves(n);
+            synchronized (created) {
+                created.add(partial);
+            }
+            return partial;
+        });
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new SweepTask(sweeps, partials, seed, 0, trials));
+        } finally {
+            pool.shutdown();
+        }
+
+        // merge the per-thread curves at the end
+        PercolationCurves total = new PercolationCurves(n);
+        for (PercolationCurves partial : created) total.merge(partial);
+        return total;
+    }
+
+
+    /**
+     * adds the curves of the last sweep run by the given NewmanZiffSweep
+     */
+    public void add(NewmanZiffSweep sweep) {
+        if (sweep.sites() != sites) throw new IllegalArgumentException();
+
+        percolatedAt[sweep.percolationIndex()]++;
+        for (int k = 1; k <= sites; k++) largestSum[k] += sweep.largestClusterSize(k);
+        trials++;
+    }
+
+
+    /**
+     * adds all the sweeps of other to these curves
+     */
+    public void merge(PercolationCurves other) {
+        if (other.sites != sites) throw new IllegalArgumentException();
+
+        for (int k = 0; k <= sites; k++) {
+            percolatedAt[k] += other.percolatedAt[k];
+            largestSum[k] += other.largestSum[k];
+        }
+        trials += other.trials;
+    }
+
+    // returns the number of sweeps added so far
+    public int trials() {
+        return trials;
+    }
+
+    // returns the number of sites
+    public int sites() {
+        return sites;
+    }
+
+
+    /**
+     * returns the fraction of sweeps that percolated with k open sites
+     */
+    public double percolationProbability(int k) {
+        checkOpenSites(k);
+        if (trials == 0) return 0.0;
+
+        long percolated = 0;
+        for (int i = 0; i <= k; i++) percolated += percolatedAt[i];
+        return (double) percolated / trials;
+    }
+
+
+    /**
+     * returns the average size of the largest cluster with k open sites,
+     * as a fraction of all sites
+     */
+    public double largestClusterFraction(int k) {
+        checkOpenSites(k);
+        if (trials == 0) return 0.0;
+
+        return (double) largestSum[k] / trials / sites;
+    }
+
+
+    /**
+     * returns the probability that the system percolates when each site is open with probability p
+     */
+    public double percolationProbability(double p) {
+        double[] canonical = new double[sites + 1];
+        long percolated = 0;
+        for (int k = 0; k <= sites; k++) {
+            percolated += percolatedAt[k];
+            canonical[k] = trials == 0 ? 0.0 : (double) percolated / trials;
+        }
+        return convolve(canonical, p);
+    }
+
+
+    /**
+     * returns the average largest cluster fraction when each site is open with probability p
+     */
+    public double largestClusterFraction(double p) {
+        double[] canonical = new double[sites + 1];
+        for (int k = 0; k <= sites; k++) {
+            canonical[k] = trials == 0 ? 0.0 : (double) largestSum[k] / trials / sites;
+        }
+        return convolve(canonical, p);
+    }
+
+
+    /**
+     * averages the canonical curve over the binomial(sites, p) distribution of open sites
+     * the weights are built outwards from the mode using the ratio of neighbouring terms,
+     * so nothing underflows even for very large grids
+     */
+    private double convolve(double[] canonical, double p) {
+        if (p < 0.0 || p > 1.0 || Double.isNaN(p)) throw new IllegalArgumentException();
+        if (p == 0.0) return canonical[0];
+        if (p == 1.0) return canonical[sites];
+
+        int mode = (int) Math.min(sites, Math.floor((sites + 1) * p));
+        double odds = p / (1.0 - p);
+
+        double sum = canonical[mode];
+        double totalWeight = 1.0;
+
+        // terms above the mode: w(k + 1) = w(k) * (sites - k) / (k + 1) * p / (1 - p)
+        double weight = 1.0;
+        for (int k = mode; k < sites && weight > WEIGHT_CUTOFF; k++) {
+            weight *= (double) (sites - k) / (k + 1) * odds;
+            sum += weight * canonical[k + 1];
+            totalWeight += weight;
+        }
+
+        // terms below the mode: w(k - 1) = w(k) * k / (sites - k + 1) * (1 - p) / p
+        weight = 1.0;
+        for (int k = mode; k > 0 && weight > WEIGHT_CUTOFF; k--) {
+            weight *= (double) k / (sites - k + 1) / odds;
+            sum += weight * canonical[k - 1];
+            totalWeight += weight;
+        }
+
+        return sum / totalWeight;
+    }
+
+
+    /**
+     * function that checks if a number of open sites is valid
+     */
+    private void checkOpenSites(int k) {
+        if (k < 0 || k > sites)
+            throw new IllegalArgumentException();
+    }
+
+
+    /**
+     * fork-join task that runs the sweeps in the range [lo, hi)
+     * each sweep is added to the partial curves of the thread that ran it
+     */
+    private static class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ThreadLocal<NewmanZiffSweep> sweeps;
+        private final ThreadLocal<PercolationCurves> partials;
+        private final long seed;
+        private final int lo;
+        private final int hi;
+
+        private SweepTask(ThreadLocal<NewmanZiffSweep> sweeps,
+                          ThreadLocal<PercolationCurves> partials, long seed, int lo, int hi) {
+            this.sweeps = sweeps;
+            this.partials = partials;
+            this.seed = seed;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            // run small ranges directly
+            if (hi - lo <= TRIALS_PER_TASK) {
+                NewmanZiffSweep sweep = sweeps.get();
+                PercolationCurves partial = partials.get();
+                for (int trial = lo; trial < hi; trial++) {
+                    SplittableRandom random = PercolationStats.trialRandom(seed, trial);
+                    sweep.run(random);
+                    partial.add(sweep);
+                }
+                return;
+            }
+
+            // otherwise split the range in half
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SweepTask(sweeps, partials, seed, lo, mid),
+                      new SweepTask(sweeps, partials, seed, mid, hi));
+        }
+    }
+
+    // test client: prints both curves for p = 0.50, 0.51, ..., 0.70
+    // usage: java PercolationCurves n trials seed [threads]
+    public static void main(String[] args) {
+        int n = Integer.parseInt(args[0]);
+        int trials = Integer.parseInt(args[1]);
+        long seed = Long.parseLong(args[2]);
+        int threads = args.length >= 4 ? Integer.parseInt(args[3])
+                                       : Runtime.getRuntime().availableProcessors();
+
+        PercolationCurves curves = PercolationCurves.run(n, trials, seed, threads);
+
+        StdOut.printf("%6s %12s %12s%n", "p", "P(p)", "largest");
+        for (int i = 50; i <= 70; i++) {
+            double p = i / 100.0;
+            StdOut.printf("%6.2f %12.6f %12.6f%n", p, curves.percolationProbability(p),
+                          curves.largestClusterFraction(p));
+        }
+    }
+}
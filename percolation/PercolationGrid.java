@@ -0,0 +1,592 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.Arrays;
+
+/**
+ * n-by-n percolation system with the same API as Percolation that can be reset
+ * and reused, so repeated trials do not allocate a new grid every time
+ *
+ * instead of virtual top/bottom nodes and a second union-find to avoid backwash,
+ * every root carries flags saying whether its component touches the top or the
+ * bottom row, so a single union-find answers both isFull() and percolates()
+ *
+ * sites are indexed with ints, so n * n must fit in an int (n <= 46340); larger grids,
+ * such as 50,000-by-50,000, need the long-indexed MappedPercolation
+ */
+public class PercolationGrid {
+
+    // flags kept on the root of every component
+    private static final byte CONNECTED_TOP = 1;
+    private static final byte CONNECTED_BOTTOM = 2;
+    private static final byte CONNECTED_BOTH = CONNECTED_TOP | CONNECTED_BOTTOM;
+
+    // variables
+    private final int n;
+
+    // union-find over the sites only
+    private final UnionFind uf;
+
+    // top/bottom flags, only meaningful for roots
+    private final byte[] flags;
+
+    // open sites (one bit per site) and the counter for the total number of open sites
+    private final SiteBitSet openSites;
+    private int totOpenSites;
+
+    // set once some component touches both the top and the bottom row
+    private boolean percolates;
+
+    // number of sites in the largest open cluster (only if the engine keeps sizes)
+    private final boolean tracksSizes;
+    private int largestCluster;
+
+    // told about opened sites, full sites and percolation (may be null)
+    private PercolationListener listener;
+
+    // keep track of the full sites even without a listener
+    private boolean fullTracking;
+
+    // open sites known to be full and the stack used to flood them
+    // (only while a listener is set or full tracking is on, null otherwise)
+    private SiteBitSet fullSites;
+    private int[] floodStack;
+
+
+    /**
+     * constructor for PercolationGrid using the default union-find engine
+     * allocates all the arrays once, they are reused by reset()
+     */
+    public PercolationGrid(int n) {
+        this(n, n < 1 || (long) n * n > Integer.MAX_VALUE
+                ? null : UnionFind.Kind.PATH_HALVING.create(n * n));
+    }
+
+
+    /**
+     * constructor for PercolationGrid using the given union-find engine
+     * the engine must have exactly n * n elements
+     */
+    public PercolationGrid(int n, UnionFind uf) {
+        // check the value of n and the engine
+        if (n < 1 || (long) n * n > Integer.MAX_VALUE || uf == null || uf.length() != n * n) {
+            throw new IllegalArgumentException();
+        }
+
+        // store the n value and engine passed
+        this.n = n;
+        this.uf = uf;
+
+        // create the array of root flags
+        flags = new byte[n * n];
+
+        // create the bit set that keeps track of open sites
+        openSites = new SiteBitSet(n * n);
+
+        reset();
+
+        // after a reset every component has size 1 if the engine keeps sizes at all
+        tracksSizes = uf.size(0) == 1;
+    }
+
+
+    /**
+     * blocks every site again without allocating, and tells the listener (if any)
+     */
+    public void reset() {
+        uf.reset();
+        Arrays.fill(flags, (byte) 0);
+        openSites.clear();
+        totOpenSites = 0;
+        percolates = false;
+        largestCluster = 0;
+        if (fullSites != null) fullSites.clear();
+        if (listener != null) listener.gridReset();
+    }
+
+
+    /**
+     * private function that checks if the row/col numbers are valid
+     * returns the corresponding index into the site arrays
+     */
+    private int getArrayIndex(int row, int col) {
+        // check that the row and column indices are valid
+        checkIndex(row);
+        checkIndex(col);
+
+        // return the index into the array corresponding to row/col
+        return (row - 1) * n + (col - 1);
+    }
+
+
+    /**
+     * function that checks if an index is valid
+     */
+    private void checkIndex(int index) {
+        if (index < 1 || index > n)
+            throw new IllegalArgumentException();
+    }
+
+
+    /**
+     * function that checks if a site id is valid
+     */
+    private void checkSite(int arrID) {
+        if (arrID < 0 || arrID >= n * n)
+            throw new IllegalArgumentException();
+    }
+
+
+    /**
+     * opens the site (row, col) if it is not open already
+     * forms connections with surrounding neighbours if they are open
+     */
+    public void open(int row, int col) {
+        int arrID = getArrayIndex(row, col);
+
+        // if the site is already open then do nothing
+        if (openSites.get(arrID)) return;
+
+        boolean percolatedBefore = percolates;
+        openSite(arrID);
+        notifyPercolation(percolatedBefore);
+    }
+
+
+    /**
+     * opens all the given sites in order, where site id = (row - 1) * n + (col - 1)
+     * every id is validated once up front, so an invalid id opens nothing
+     */
+    public void openAll(int[] siteIds) {
+        if (siteIds == null) throw new IllegalArgumentException();
+        for (int arrID : siteIds) checkSite(arrID);
+
+        for (int arrID : siteIds) {
+            if (openSites.get(arrID)) continue;
+            boolean percolatedBefore = percolates;
+            openSite(arrID);
+            notifyPercolation(percolatedBefore);
+        }
+    }
+
+
+    /**
+     * opens every site with an id in [fromSite, toSite) (see openAll for the site ids)
+     * without a listener the open bits are set a word at a time before the sites are connected
+     */
+    public void openRange(int fromSite, int toSite) {
+        if (fromSite < 0 || toSite > n * n || fromSite > toSite)
+            throw new IllegalArgumentException();
+
+        // a listener wants to hear about every site, so open them one by one
+        if (listener != null) {
+            for (int arrID = fromSite; arrID < toSite; arrID++) {
+                if (openSites.get(arrID)) continue;
+                boolean percolatedBefore = percolates;
+                openSite(arrID);
+                notifyPercolation(percolatedBefore);
+            }
+            return;
+        }
+
+        if (fromSite == toSite) return;
+        totOpenSites += openSites.setRange(fromSite, toSite);
+        if (largestCluster == 0) largestCluster = 1;
+
+        // flag the boundary rows first so new sites are still roots when flagged
+        // a site that was already open got its flag when it was first opened, so either it is
+        // still a root and has the flag, or it is not and the flag on it is ignored
+        for (int arrID = fromSite; arrID < Math.min(toSite, n); arrID++) markBoundary(arrID);
+        for (int arrID = Math.max(fromSite, n * n - n); arrID < toSite; arrID++) {
+            markBoundary(arrID);
+        }
+
+        // connect every site in the range to its right and bottom neighbours,
+        // and to its left and top neighbours when those are outside the range
+        for (int arrID = fromSite; arrID < toSite; arrID++) {
+            int col = arrID % n;
+            if (col < n - 1) connect(arrID, arrID + 1);
+            if (arrID + n < n * n) connect(arrID, arrID + n);
+            if (col > 0 && arrID - 1 < fromSite) connect(arrID, arrID - 1);
+            if (arrID >= n && arrID - n < fromSite) connect(arrID, arrID - n);
+        }
+
+        // every component that became full contains a site of the range
+        if (fullSites != null) {
+            for (int arrID = fromSite; arrID < toSite; arrID++) flood(arrID);
+        }
+    }
+
+
+    /**
+     * opens every site in the rows fromRow to toRow (inclusive)
+     */
+    public void openRows(int fromRow, int toRow) {
+        checkIndex(fromRow);
+        checkIndex(toRow);
+        if (fromRow > toRow) throw new IllegalArgumentException();
+
+        openRange((fromRow - 1) * n, toRow * n);
+    }
+
+
+    /**
+     * sets the listener that is told about opened sites, full sites and percolation
+     * (null removes it); while a listener is set the grid keeps track of the full
+     * sites; sites that are already full (and percolation, if it already happened)
+     * are reported to a new listener right away
+     */
+    public void setListener(PercolationListener listener) {
+        this.listener = listener;
+        if (listener == null) {
+            if (!fullTracking) stopTracking();
+            return;
+        }
+
+        if (fullSites == null) {
+            // flooding the existing full sites reports them to the listener
+            startTracking();
+        } else {
+            for (int arrID = 0; arrID < n * n; arrID++) {
+                if (fullSites.get(arrID)) listener.siteFull(arrID / n + 1, arrID % n + 1);
+            }
+        }
+        notifyPercolation(false);
+    }
+
+
+    /**
+     * turns full-site tracking on or off
+     * while it is on, every open that connects sites to the top floods them into a
+     * bit set of full sites (each site is flooded at most once between resets, so the
+     * total work stays linear in the number of sites) and isFull() is a single bit test
+     */
+    public void setFullTracking(boolean fullTracking) {
+        this.fullTracking = fullTracking;
+        if (fullTracking && fullSites == null) startTracking();
+        if (!fullTracking && listener == null) stopTracking();
+    }
+
+
+    /**
+     * starts tracking the full sites by flooding from the open sites on the top row
+     */
+    private void startTracking() {
+        fullSites = new SiteBitSet(n * n);
+        floodStack = new int[n * n];
+        for (int arrID = 0; arrID < n; arrID++) {
+            if (openSites.get(arrID)) flood(arrID);
+        }
+    }
+
+
+    /**
+     * stops tracking the full sites and releases the bit set
+     */
+    private void stopTracking() {
+        fullSites = null;
+        floodStack = null;
+    }
+
+
+    /**
+     * opens a valid site that is currently blocked
+     */
+    private void openSite(int arrID) {
+        // open the site and add to the counter of open sites
+        openSites.set(arrID);
+        totOpenSites++;
+        if (largestCluster == 0) largestCluster = 1;
+
+        // sites on the top or bottom row start with the matching flag
+        markBoundary(arrID);
+
+        // make connections to the left, right, top and bottom neighbours if they are open
+        int col = arrID % n;
+        if (col > 0) connect(arrID, arrID - 1);
+        if (col < n - 1) connect(arrID, arrID + 1);
+        if (arrID >= n) connect(arrID, arrID - n);
+        if (arrID + n < n * n) connect(arrID, arrID + n);
+
+        // report the new site and mark (and report) every site that became full through it
+        if (listener != null) listener.siteOpened(arrID / n + 1, col + 1);
+        if (fullSites != null) flood(arrID);
+    }
+
+
+    /**
+     * if the given open site is full but not yet marked, marks it and every open site
+     * reachable from it that is not marked yet, reporting each one to the listener (if any)
+     * each site is marked at most once between resets, so the total work is linear
+     */
+    private void flood(int start) {
+        if (fullSites.get(start) || (flags[uf.find(start)] & CONNECTED_TOP) == 0) return;
+
+        int top = 0;
+        fullSites.set(start);
+        floodStack[top++] = start;
+        while (top > 0) {
+            int arrID = floodStack[--top];
+            if (listener != null) listener.siteFull(arrID / n + 1, arrID % n + 1);
+
+            // push the open neighbours that are not marked yet
+            int col = arrID % n;
+            if (col > 0) top = push(arrID - 1, top);
+            if (col < n - 1) top = push(arrID + 1, top);
+            if (arrID >= n) top = push(arrID - n, top);
+            if (arrID + n < n * n) top = push(arrID + n, top);
+        }
+    }
+
+
+    /**
+     * marks an open, unmarked site as full and pushes it on the flood stack
+     * returns the new stack size
+     */
+    private int push(int arrID, int top) {
+        if (!openSites.get(arrID) || fullSites.get(arrID)) return top;
+        fullSites.set(arrID);
+        floodStack[top] = arrID;
+        return top + 1;
+    }
+
+
+    /**
+     * tells the listener if the system started to percolate
+     */
+    private void notifyPercolation(boolean percolatedBefore) {
+        if (listener != null && percolates && !percolatedBefore) {
+            listener.percolated(totOpenSites);
+        }
+    }
+
+
+    /**
+     * gives a site on the top or bottom row the matching flag
+     * separate if-statements because n might be equal to 1
+     */
+    private void markBoundary(int arrID) {
+        if (arrID < n) flags[arrID] |= CONNECTED_TOP;
+        if (arrID >= n * n - n) flags[arrID] |= CONNECTED_BOTTOM;
+        if (flags[arrID] == CONNECTED_BOTH) percolates = true;
+    }
+
+
+    /**
+     * connects the site to a neighbouring site if the neighbour is open
+     */
+    private void connect(int arrID, int neighbourID) {
+        if (openSites.get(neighbourID)) union(arrID, neighbourID);
+    }
+
+    // is the site (row, col) open?
+    public boolean isOpen(int row, int col) {
+        return openSites.get(getArrayIndex(row, col));
+    }
+
+    // is the site (row, col) full?
+    public boolean isFull(int row, int col) {
+        int arrID = getArrayIndex(row, col);
+
+        // a bit test while the full sites are tracked
+        if (fullSites != null) return fullSites.get(arrID);
+
+        // blocked sites never carry flags, so they are never full
+        return (flags[uf.find(arrID)] & CONNECTED_TOP) != 0;
+    }
+
+    // returns the grid size n
+    public int size() {
+        return n;
+    }
+
+    // returns the number of open sites
+    public int numberOfOpenSites() {
+        return totOpenSites;
+    }
+
+    // returns the number of sites in the largest open cluster,
+    // or -1 if the union-find engine does not keep component sizes
+    public int largestClusterSize() {
+        return tracksSizes ? largestCluster : -1;
+    }
+
+    // does the system percolate?
+    public boolean percolates() {
+        return percolates;
+    }
+
+
+    /**
+     * merges the components containing p and q
+     * the new root keeps the flags of both components
+     * the system percolates once a component touches both rows
+     */
+    private void union(int p, int q) {
+        int rootP = uf.find(p);
+        int rootQ = uf.find(q);
+        if (rootP == rootQ) return;
+
+        byte merged = (byte) (flags[rootP] | flags[rootQ]);
+        int root = uf.link(rootP, rootQ);
+        flags[root] = merged;
+        if (merged == CONNECTED_BOTH) percolates = true;
+        if (tracksSizes) largestCluster = Math.max(largestCluster, uf.size(root));
+    }
+
+    // test client: checks PercolationGrid against Percolation
+    // usage: java PercolationGrid [trials] [seed]
+    // every trial opens random sites of a small grid through open, openAll and openRange,
+    // with each union-find engine and with a listener, full tracking, both or neither,
+    // some of them resetting the grid part way; after every step isOpen, isFull, percolates
+    // and the number of open sites must match Percolation, and the listener must have seen
+    // each open and full site exactly once
+    public static void main(String[] args) {
+        int trials = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        if (args.length > 1) StdRandom.setSeed(Long.parseLong(args[1]));
+
+        for (int trial = 0; trial < trials; trial++) checkTrial(trial);
+        StdOut.println(trials + " trials agree with Percolation");
+    }
+
+
+    /**
+     * runs one random trial of the test client, throws IllegalStateException on a mismatch
+     */
+    private static void checkTrial(int trial) {
+        int n = StdRandom.uniform(1, 11);
+        UnionFind.Kind kind = UnionFind.Kind.values()[trial % UnionFind.Kind.values().length];
+        PercolationGrid grid = new PercolationGrid(n, kind.create(n * n));
+        Percolation perc = new Percolation(n);
+
+        // modes: 0 neither, 1 listener, 2 full tracking, 3 both
+        int mode = trial % 4;
+        boolean attachLate = trial % 3 == 0;
+        boolean resetPartWay = trial % 5 == 4;
+        if (mode >= 2) grid.setFullTracking(true);
+
+        EventLog log = null;
+        if ((mode & 1) == 1 && !attachLate) {
+            log = new EventLog(grid);
+            grid.setListener(log);
+        }
+
+        for (int step = 0; step < n * n; step++) {
+            // halfway through, attach the listener late if this trial does so
+            if ((mode & 1) == 1 && attachLate && step == n * n / 2) {
+                log = new EventLog(grid);
+                grid.setListener(log);
+            }
+
+            // three quarters of the way through, start over on the same grid
+            if (resetPartWay && step == 3 * n * n / 4) {
+                grid.reset();
+                perc = new Percolation(n);
+            }
+
+            int op = StdRandom.uniform(10);
+            if (op == 0) {
+                int from = StdRandom.uniform(n * n + 1);
+                int to = from + StdRandom.uniform(n * n - from + 1);
+                grid.openRange(from, to);
+                for (int arrID = from; arrID < to; arrID++) perc.open(arrID / n + 1, arrID % n + 1);
+            } else if (op == 1) {
+                int[] siteIds = new int[StdRandom.uniform(5)];
+                for (int i = 0; i < siteIds.length; i++) siteIds[i] = StdRandom.uniform(n * n);
+                grid.openAll(siteIds);
+                for (int arrID : siteIds) perc.open(arrID / n + 1, arrID % n + 1);
+            } else {
+                int row = StdRandom.uniform(1, n + 1);
+                int col = StdRandom.uniform(1, n + 1);
+                grid.open(row, col);
+                perc.open(row, col);
+            }
+
+            compare(trial, grid, perc, log);
+        }
+    }
+
+
+    /**
+     * compares the grid, and the events the log received, with Percolation
+     */
+    private static void compare(int trial, PercolationGrid grid, Percolation perc, EventLog log) {
+        int n = grid.size();
+        if (grid.percolates() != perc.percolates()
+                || grid.numberOfOpenSites() != perc.numberOfOpenSites()) {
+            throw new IllegalStateException("trial " + trial + ": percolates or open count");
+        }
+
+        int fullCount = 0;
+        for (int row = 1; row <= n; row++) {
+            for (int col = 1; col <= n; col++) {
+                if (grid.isOpen(row, col) != perc.isOpen(row, col)
+                        || grid.isFull(row, col) != perc.isFull(row, col)) {
+                    throw new IllegalStateException("trial " + trial + ": site " + row + " " + col);
+                }
+                if (perc.isFull(row, col)) fullCount++;
+            }
+        }
+
+        if (log != null && (log.opened != perc.numberOfOpenSites() || log.full != fullCount
+                || log.percolated != (perc.percolates() ? 1 : 0))) {
+            throw new IllegalStateException("trial " + trial + ": events");
+        }
+    }
+
+
+    /**
+     * listener of the test client, counts the events and rejects repeated ones
+     * sites already open when it is created count as opened, since only full sites
+     * and percolation are reported to a new listener
+     */
+    private static class EventLog implements PercolationListener {
+        private final int n;
+        private final boolean[] isOpen;
+        private final boolean[] isFull;
+        private int opened;
+        private int full;
+        private int percolated;
+
+        EventLog(PercolationGrid grid) {
+            n = grid.size();
+            isOpen = new boolean[n * n];
+            isFull = new boolean[n * n];
+            for (int arrID = 0; arrID < n * n; arrID++) {
+                isOpen[arrID] = grid.isOpen(arrID / n + 1, arrID % n + 1);
+                if (isOpen[arrID]) opened++;
+            }
+        }
+
+        public void siteOpened(int row, int col) {
+            int arrID = (row - 1) * n + col - 1;
+            if (isOpen[arrID]) throw new IllegalStateException("site opened twice");
+            isOpen[arrID] = true;
+            opened++;
+        }
+
+        public void siteFull(int row, int col) {
+            int arrID = (row - 1) * n + col - 1;
+            if (!isOpen[arrID] || isFull[arrID]) throw new IllegalStateException("bad full event");
+            isFull[arrID] = true;
+            full++;
+        }
+
+        public void percolated(int openSites) {
+            percolated++;
+        }
+
+        public void gridReset() {
+            Arrays.fill(isOpen, false);
+            Arrays.fill(isFull, false);
+            opened = 0;
+            full = 0;
+            percolated = 0;
+        }
+    }
+}
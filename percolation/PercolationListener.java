@@ -0,0 +1,36 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+/**
+ * receives the changes of a PercolationGrid as they happen
+ * all methods do nothing by default, so a listener only overrides what it needs
+ */
+public interface PercolationListener {
+
+    /**
+     * the site (row, col) was opened
+     */
+    default void siteOpened(int row, int col) {
+    }
+
+    /**
+     * the open site (row, col) became full
+     * called after siteOpened() for the site that caused it
+     */
+    default void siteFull(int row, int col) {
+    }
+
+    /**
+     * the system percolates for the first time since it was created or reset
+     */
+    default void percolated(int openSites) {
+    }
+
+    /**
+     * the grid was reset, every site is blocked again
+     */
+    default void gridReset() {
+    }
+}
@@ -0,0 +1,190 @@
+/******************************************************************************
+ *  Compilation:  javac PercolationRenderer.java
+ *  Dependencies: PercolationGrid.java PercolationListener.java StdDraw.java
+ *
+ *  Draws a PercolationGrid the same way as PercolationVisualizer (full sites
+ *  in light blue, open sites in white, blocked sites in black, with site (1, 1)
+ *  in the upper left-hand corner), but incrementally: the grid is drawn once
+ *  (and blanked again when it is reset), and after that only the sites whose
+ *  state changed since the last frame are repainted. The changes come from the
+ *  grid's listener events, so a frame never has to query all n^2 sites. Frames
+ *  are capped at a maximum rate; changes that arrive in between are collected
+ *  for the next frame.
+ *
+ ******************************************************************************/
+
+import edu.princeton.cs.algs4.StdDraw;
+
+import java.awt.Font;
+import java.util.Arrays;
+
+public class PercolationRenderer implements PercolationListener {
+
+    // site states
+    private static final byte BLOCKED = 0;
+    private static final byte OPEN = 1;
+    private static final byte FULL = 2;
+
+    // variables
+    private final PercolationGrid perc;
+    private final int n;
+    private final long minFrameNanos;
+
+    // last known state of every site
+    private final byte[] state;
+
+    // sites changed since the last frame, without duplicates
+    private final int[] dirty;
+    private final SiteBitSet queued;
+    private int numDirty = 0;
+
+    // the status text also needs repainting
+    private boolean statusDirty = true;
+
+    // the grid was reset, so the whole grid is painted blocked before the changed sites
+    private boolean cleared = false;
+
+    // time the last frame was shown
+    private long lastFrame;
+
+
+    /**
+     * creates a renderer for the given grid, showing at most maxFps frames per second
+     * draws the whole grid once and registers itself as the grid's listener
+     */
+    public PercolationRenderer(PercolationGrid perc, int maxFps) {
+        if (perc == null || maxFps < 1) throw new IllegalArgumentException();
+
+        this.perc = perc;
+        n = perc.size();
+        minFrameNanos = 1_000_000_000L / maxFps;
+        state = new byte[n * n];
+        dirty = new int[n * n];
+        queued = new SiteBitSet(n * n);
+
+        // draw the background and every site once
+        StdDraw.clear();
+        StdDraw.setXscale(-0.05 * n, 1.05 * n);
+        StdDraw.setYscale(-0.05 * n, 1.05 * n);   // leave a border to write text
+        StdDraw.setPenColor(StdDraw.BLACK);
+        StdDraw.filledSquare(n / 2.0, n / 2.0, n / 2.0);
+        for (int row = 1; row <= n; row++) {
+            for (int col = 1; col <= n; col++) {
+                if (perc.isOpen(row, col)) {
+                    state[(row - 1) * n + (col - 1)] = OPEN;
+                    drawSite(row, col);
+                }
+            }
+        }
+
+        // the listener reports the sites that are already full right away
+        perc.setListener(this);
+        flush();
+    }
+
+    public void siteOpened(int row, int col) {
+        int arrID = (row - 1) * n + (col - 1);
+        if (state[arrID] == BLOCKED) state[arrID] = OPEN;
+        markDirty(arrID);
+    }
+
+    public void siteFull(int row, int col) {
+        int arrID = (row - 1) * n + (col - 1);
+        state[arrID] = FULL;
+        markDirty(arrID);
+    }
+
+    public void percolated(int openSites) {
+        statusDirty = true;
+    }
+
+    public void gridReset() {
+        Arrays.fill(state, BLOCKED);
+        queued.clear();
+        numDirty = 0;
+        cleared = true;
+        statusDirty = true;
+    }
+
+
+    /**
+     * shows a frame with the changes since the last one, unless nothing changed
+     * or the last frame was shown less than 1 / maxFps seconds ago
+     * returns whether a frame was shown
+     */
+    public boolean render() {
+        if (numDirty == 0 && !statusDirty) return false;
+        if (System.nanoTime() - lastFrame < minFrameNanos) return false;
+        flush();
+        return true;
+    }
+
+
+    /**
+     * shows a frame with the changes since the last one, ignoring the frame rate cap
+     */
+    public void flush() {
+        // after a reset every site is blocked again
+        if (cleared) {
+            StdDraw.setPenColor(StdDraw.BLACK);
+            StdDraw.filledSquare(n / 2.0, n / 2.0, n / 2.0);
+            cleared = false;
+        }
+
+        // repaint only the changed sites
+        for (int i = 0; i < numDirty; i++) {
+            int arrID = dirty[i];
+            drawSite(arrID / n + 1, arrID % n + 1);
+        }
+        if (numDirty > 0) {
+            queued.clear();
+            numDirty = 0;
+            statusDirty = true;
+        }
+
+        if (statusDirty) {
+            drawStatus();
+            statusDirty = false;
+        }
+
+        StdDraw.show();
+        lastFrame = System.nanoTime();
+    }
+
+
+    /**
+     * adds a site to the list of sites to repaint
+     */
+    private void markDirty(int arrID) {
+        if (queued.get(arrID)) return;
+        queued.set(arrID);
+        dirty[numDirty++] = arrID;
+    }
+
+
+    /**
+     * draws a single site in the colour of its current state
+     */
+    private void drawSite(int row, int col) {
+        byte siteState = state[(row - 1) * n + (col - 1)];
+        if (siteState == FULL) StdDraw.setPenColor(StdDraw.BOOK_LIGHT_BLUE);
+        else if (siteState == OPEN) StdDraw.setPenColor(StdDraw.WHITE);
+        else StdDraw.setPenColor(StdDraw.BLACK);
+        StdDraw.filledSquare(col - 0.5, n - row + 0.5, 0.45);
+    }
+
+
+    /**
+     * clears the text area below the grid and writes the status text
+     */
+    private void drawStatus() {
+        StdDraw.setPenColor(StdDraw.WHITE);
+        StdDraw.filledRectangle(n / 2.0, -0.025 * n, 0.55 * n, 0.025 * n);
+
+        StdDraw.setFont(new Font("SansSerif", Font.PLAIN, 12));
+        StdDraw.setPenColor(StdDraw.BLACK);
+        StdDraw.text(0.25 * n, -0.025 * n, perc.numberOfOpenSites() + " open sites");
+        if (perc.percolates()) StdDraw.text(0.75 * n, -0.025 * n, "percolates");
+        else StdDraw.text(0.75 * n, -0.025 * n, "does not percolate");
+    }
+}
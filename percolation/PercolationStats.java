@@ -1,41 +1,65 @@
 /* *****************************************************************************
  *  Name:              Blake Martin
- *  Last modified:     03/01/2021
+ *  Last modified:     10/18/2026
  **************************************************************************** */
 
 import edu.princeton.cs.algs4.StdOut;
 import edu.princeton.cs.algs4.StdRandom;
-import edu.princeton.cs.algs4.StdStats;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class PercolationStats {
     // constant variables
-    private static final double CONFIDENCE_95 = 1.96;
+    static final double CONFIDENCE_95 = 1.96;
+
+    // number of trials a fork-join task runs itself instead of splitting further
+    private static final int TRIALS_PER_TASK = 4;
+
+    // odd constant used to space out the per-trial seeds (same as SplittableRandom)
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * how a seeded trial picks the next site to open
+     */
+    public enum Sampling {
+        // draw uniformly random sites, sites that are already open are wasted draws
+        REJECTION,
+
+        // walk a lazily shuffled permutation of the sites, so every draw opens a new site
+        PERMUTATION
+    }
 
-    // variables
-    private final int trials;
-    private final double[] thresholds;
+    // running mean and standard deviation of the thresholds (constant memory)
+    private final RunningStats stats;
 
 
     // perform independent trials on an n-by-n grid
     public PercolationStats(int n, int trials) {
-        // check the value of n and trials
-        if (n < 1 || trials < 1) {
+        this(n, trials, 0.0);
+    }
+
+    // perform independent trials on an n-by-n grid, stopping early once the half-width of
+    // the 95% confidence interval is at most the given tolerance, the same rule as
+    // TrialScheduler (0 runs all the trials)
+    public PercolationStats(int n, int trials, double tolerance) {
+        // check the value of n, trials and tolerance
+        if (n < 1 || trials < 1 || !(tolerance >= 0.0)) {
             throw new IllegalArgumentException();
         }
 
-        // keep the number of trials
-        this.trials = trials;
-
-        // create the array storing all the threshold values
-        thresholds = new double[trials];
+        // create the accumulator for the threshold values
+        stats = new RunningStats();
 
         // perform the required number of trials
-        Percolation curPerc;
+        // the same grid is reset and reused for every trial
+        PercolationGrid curPerc = new PercolationGrid(n);
         int arrID, row, col;
         for (int trialNum = 1; trialNum <= trials; trialNum++) {
 
             // reset the percolation
-            curPerc = new Percolation(n);
+            curPerc.reset();
 
             // loop until it percolates
             while (!curPerc.percolates()) {
@@ -52,33 +76,258 @@ public class PercolationStats {
 
             }
 
-            // store the threshold value in the array of results
-            thresholds[trialNum - 1] = (double) curPerc.numberOfOpenSites() / (n * n);
+            // add the threshold value to the results
+            stats.add((double) curPerc.numberOfOpenSites() / (n * n));
+
+            // stop once the confidence interval is tight enough
+            if (tolerance > 0.0 && trialNum > 1
+                    && stats.halfWidth(CONFIDENCE_95) <= tolerance) break;
+
+        }
+
+    }
+
+    // perform independent trials on an n-by-n grid using the given number of threads
+    // every trial draws from its own random stream derived from the master seed, so the
+    // results only depend on the seed and never on the number of threads
+    // the seeded constructors always run all the trials; TrialScheduler is the seeded
+    // counterpart that stops once a target half-width is reached
+    public PercolationStats(int n, int trials, long seed, int threads) {
+        this(n, trials, seed, threads, Sampling.REJECTION);
+    }
+
+    // same as above, choosing how each trial picks the sites to open
+    public PercolationStats(int n, int trials, long seed, int threads, Sampling sampling) {
+        // check the value of n, trials, threads and sampling
+        if (n < 1 || trials < 1 || threads < 1 || sampling == null) {
+            throw new IllegalArgumentException();
+        }
+
+        // split the trials over a fork-join pool with the requested parallelism
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            stats = runTrials(pool, workers(n, sampling), seed, 0, trials);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // perform independent seeded trials of site or bond percolation on any lattice
+    // the threshold is the fraction of open sites (or bonds) when the system percolates
+    public PercolationStats(Lattice lattice, LatticePercolation.Model model, int trials, long seed,
+                            int threads, Sampling sampling) {
+        // check the lattice, model, trials, threads and sampling
+        if (lattice == null || model == null || trials < 1 || threads < 1 || sampling == null) {
+            throw new IllegalArgumentException();
+        }
+
+        // split the trials over a fork-join pool with the requested parallelism
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            stats = runTrials(pool, workers(lattice, model, sampling), seed, 0, trials);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // wraps statistics computed elsewhere (used by TrialScheduler)
+    PercolationStats(RunningStats stats) {
+        this.stats = stats;
+    }
+
+
+    /**
+     * returns per-thread workers for seeded trials on an n-by-n grid
+     * every worker thread keeps one grid that it resets between its trials
+     */
+    static ThreadLocal<Worker> workers(int n, Sampling sampling) {
+        return ThreadLocal.withInitial(() -> new Worker(n, sampling));
+    }
+
+
+    /**
+     * returns per-thread workers for seeded trials on the given lattice
+     */
+    static ThreadLocal<Worker> workers(Lattice lattice, LatticePercolation.Model model,
+                                       Sampling sampling) {
+        return ThreadLocal.withInitial(() -> new Worker(lattice, model, sampling));
+    }
+
+
+    /**
+     * runs the seeded trials in the range [lo, hi) on the given pool
+     * the partial statistics are merged following the (fixed) split tree, so the
+     * result is the same for any number of threads
+     */
+    static RunningStats runTrials(ForkJoinPool pool, ThreadLocal<Worker> workers, long seed,
+                                  int lo, int hi) {
+        return pool.invoke(new TrialTask(workers, seed, lo, hi));
+    }
+
+
+    /**
+     * state a worker thread reuses for all of its trials
+     * it runs either the n-by-n square site grid or a general lattice
+     */
+    static class Worker {
+        private final Sampling sampling;
+
+        // exactly one of the two is set
+        private final PercolationGrid perc;
+        private final LatticePercolation lattice;
+
+        // number of elements (sites or bonds) that can be opened
+        private final int elements;
+
+        // permutation of the element ids, only used for PERMUTATION sampling
+        private final int[] order;
+
+        private Worker(int n, Sampling sampling) {
+            this(new PercolationGrid(n), null, n * n, sampling);
+        }
+
+        private Worker(Lattice lattice, LatticePercolation.Model model, Sampling sampling) {
+            this(null, new LatticePercolation(lattice, model), -1, sampling);
+        }
+
+        private Worker(PercolationGrid perc, LatticePercolation lattice, int elements,
+                       Sampling sampling) {
+            this.perc = perc;
+            this.lattice = lattice;
+            this.elements = lattice != null ? lattice.elements() : elements;
+            this.sampling = sampling;
+            order = sampling == Sampling.PERMUTATION ? new int[this.elements] : null;
+        }
+
+        /**
+         * runs a single trial using the given random stream
+         * returns the fraction of elements that were open when the system percolated
+         */
+        private double runTrial(SplittableRandom random) {
+            reset();
+
+            if (sampling == Sampling.PERMUTATION) {
+                // restart from the identity so the trial only depends on its own random stream
+                for (int i = 0; i < order.length; i++) order[i] = i;
+
+                // fisher-yates shuffle one step at a time, stopping once it percolates
+                for (int i = 0; !percolates(); i++) {
+                    int j = i + random.nextInt(order.length - i);
+                    int element = order[j];
+                    order[j] = order[i];
+                    order[i] = element;
+                    open(element);
+                }
+            } else {
+                // loop until it percolates
+                while (!percolates()) {
+                    open(random.nextInt(elements));
+                }
+            }
+
+            return (double) numberOfOpen() / elements;
+        }
 
+        private void reset() {
+            if (lattice != null) lattice.reset();
+            else perc.reset();
+        }
+
+        private void open(int element) {
+            if (lattice != null) {
+                lattice.open(element);
+            } else {
+                int n = perc.size();
+                perc.open(element / n + 1, element % n + 1);
+            }
         }
 
+        private boolean percolates() {
+            return lattice != null ? lattice.percolates() : perc.percolates();
+        }
+
+        private int numberOfOpen() {
+            return lattice != null ? lattice.numberOfOpen() : perc.numberOfOpenSites();
+        }
+    }
+
+
+    /**
+     * returns the random stream for the given trial of a seeded run
+     * the seed is scrambled so that neighbouring trials start far apart in the sequence
+     */
+    static SplittableRandom trialRandom(long seed, int trial) {
+        long z = seed + (trial + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+
+    /**
+     * fork-join task that runs the trials in the range [lo, hi)
+     * returns their statistics, the two halves of a split are merged left to right
+     */
+    private static class TrialTask extends RecursiveTask<RunningStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final ThreadLocal<Worker> workers;
+        private final long seed;
+        private final int lo;
+        private final int hi;
+
+        private TrialTask(ThreadLocal<Worker> workers, long seed, int lo, int hi) {
+            this.workers = workers;
+            this.seed = seed;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected RunningStats compute() {
+            // run small ranges directly
+            if (hi - lo <= TRIALS_PER_TASK) {
+                Worker worker = workers.get();
+                RunningStats results = new RunningStats();
+                for (int trial = lo; trial < hi; trial++) {
+                    results.add(worker.runTrial(trialRandom(seed, trial)));
+                }
+                return results;
+            }
+
+            // otherwise split the range in half
+            int mid = (lo + hi) >>> 1;
+            TrialTask right = new TrialTask(workers, seed, mid, hi);
+            right.fork();
+            RunningStats results = new TrialTask(workers, seed, lo, mid).compute();
+            results.merge(right.join());
+            return results;
+        }
+    }
+
+    // number of trials that were run
+    public int trials() {
+        return (int) stats.count();
     }
 
     // sample mean of percolation threshold
     public double mean() {
-        return StdStats.mean(thresholds);
+        return stats.mean();
     }
 
     // sample standard deviation of percolation threshold
     public double stddev() {
-        return StdStats.stddev(thresholds);
+        return stats.stddev();
     }
 
     // low endpoint of 95% confidence interval
     public double confidenceLo() {
-        return StdStats.mean(thresholds) - CONFIDENCE_95 * StdStats.stddev(thresholds) / Math
-                .sqrt(trials);
+        return stats.mean() - stats.halfWidth(CONFIDENCE_95);
     }
 
     // high endpoint of 95% confidence interval
     public double confidenceHi() {
-        return StdStats.mean(thresholds) + CONFIDENCE_95 * StdStats.stddev(thresholds) / Math
-                .sqrt(trials);
+        return stats.mean() + stats.halfWidth(CONFIDENCE_95);
     }
 
     // test client
@@ -89,7 +338,18 @@ public class PercolationStats {
         int trials = Integer.parseInt(args[1]);
 
         // create the PercolationStats class and execute the tests
-        PercolationStats myPercStats = new PercolationStats(n, trials);
+        // optional third, fourth and fifth arguments select a seeded run, its thread count
+        // and the sampling mode (REJECTION or PERMUTATION)
+        PercolationStats myPercStats;
+        if (args.length >= 3) {
+            long seed = Long.parseLong(args[2]);
+            int threads = args.length >= 4 ? Integer.parseInt(args[3])
+                                           : Runtime.getRuntime().availableProcessors();
+            Sampling sampling = args.length >= 5 ? Sampling.valueOf(args[4]) : Sampling.REJECTION;
+            myPercStats = new PercolationStats(n, trials, seed, threads, sampling);
+        } else {
+            myPercStats = new PercolationStats(n, trials);
+        }
 
         // print out the stats
         StdOut.printf("mean                    = %f \n", myPercStats.mean());
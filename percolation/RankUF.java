@@ -0,0 +1,66 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import java.util.Arrays;
+
+/**
+ * union by rank with path halving
+ * ranks never exceed log2(length) so they fit in a byte per element
+ */
+public class RankUF implements UnionFind {
+
+    private final int[] parent;
+    private final byte[] rank;
+
+
+    /**
+     * constructor for RankUF
+     */
+    public RankUF(int length) {
+        if (length < 0) throw new IllegalArgumentException();
+        parent = new int[length];
+        rank = new byte[length];
+        reset();
+    }
+
+    public int length() {
+        return parent.length;
+    }
+
+    public int find(int p) {
+        // point every other node on the path to its grandparent
+        while (p != parent[p]) {
+            parent[p] = parent[parent[p]];
+            p = parent[p];
+        }
+        return p;
+    }
+
+    public int link(int rootP, int rootQ) {
+        // hang the lower ranked tree below the other one
+        if (rank[rootP] < rank[rootQ]) {
+            int tmp = rootP;
+            rootP = rootQ;
+            rootQ = tmp;
+        }
+        parent[rootQ] = rootP;
+        if (rank[rootP] == rank[rootQ]) rank[rootP]++;
+        return rootP;
+    }
+
+    public void reset() {
+        for (int i = 0; i < parent.length; i++) parent[i] = i;
+        Arrays.fill(rank, (byte) 0);
+    }
+
+    public int depth(int p) {
+        int depth = 0;
+        while (p != parent[p]) {
+            p = parent[p];
+            depth++;
+        }
+        return depth;
+    }
+}
@@ -0,0 +1,105 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+/**
+ * constant-memory mean and standard deviation of a stream of values
+ *
+ * values are accumulated with Welford's online update, and two accumulators can be
+ * merged with the pairwise update of Chan et al., so partial results computed by
+ * different threads combine into the statistics of the whole stream
+ */
+public class RunningStats {
+
+    // variables
+    private long count = 0;
+    private double mean = 0.0;
+
+    // sum of squared differences from the current mean
+    private double m2 = 0.0;
+
+
+    /**
+     * constructor for an empty RunningStats
+     */
+    public RunningStats() {
+    }
+
+
+    /**
+     * constructor for a RunningStats restored from a saved count, mean and m2
+     * (the sum of squared differences from the mean)
+     */
+    public RunningStats(long count, double mean, double m2) {
+        if (count < 0 || !(m2 >= 0.0)) throw new IllegalArgumentException();
+        this.count = count;
+        this.mean = count == 0 ? 0.0 : mean;
+        this.m2 = count == 0 ? 0.0 : m2;
+    }
+
+
+    /**
+     * adds one value to the stream
+     */
+    public void add(double x) {
+        count++;
+        double delta = x - mean;
+        mean += delta / count;
+        m2 += delta * (x - mean);
+    }
+
+
+    /**
+     * adds all the values seen by other to this stream
+     */
+    public void merge(RunningStats other) {
+        if (other.count == 0) return;
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            return;
+        }
+
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+    }
+
+    // returns the number of values
+    public long count() {
+        return count;
+    }
+
+    // sum of squared differences from the mean (saved to restore the stream later)
+    public double m2() {
+        return m2;
+    }
+
+    // sample mean (NaN if there are no values)
+    public double mean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    // sample variance (NaN if there are fewer than two values)
+    public double variance() {
+        return count < 2 ? Double.NaN : m2 / (count - 1);
+    }
+
+    // sample standard deviation (NaN if there are fewer than two values)
+    public double stddev() {
+        return Math.sqrt(variance());
+    }
+
+
+    /**
+     * returns the half-width of the confidence interval around the mean
+     * for the given critical value (e.g. 1.96 for 95%)
+     */
+    public double halfWidth(double z) {
+        return z * stddev() / Math.sqrt(count);
+    }
+}
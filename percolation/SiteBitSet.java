@@ -0,0 +1,127 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import java.util.Arrays;
+
+/**
+ * fixed-size set of site indices stored as one bit per site in a long array
+ * range operations work a whole 64-bit word at a time
+ * indices are ints, so it holds at most Integer.MAX_VALUE sites (a 46340-by-46340 grid);
+ * larger grids need the long-indexed MappedPercolation
+ */
+public class SiteBitSet {
+
+    // 2^6 = 64 bits per word
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final long WORD_MASK = -1L;
+
+    private final int length;
+    private final long[] words;
+
+
+    /**
+     * constructor for SiteBitSet, all bits start cleared
+     */
+    public SiteBitSet(int length) {
+        if (length < 0) throw new IllegalArgumentException();
+        this.length = length;
+        words = new long[(length + 63) >>> ADDRESS_BITS_PER_WORD];
+    }
+
+    // returns the number of sites in the set
+    public int length() {
+        return length;
+    }
+
+    // is the bit for site i set?
+    public boolean get(int i) {
+        return (words[i >>> ADDRESS_BITS_PER_WORD] & (1L << i)) != 0;
+    }
+
+    // sets the bit for site i
+    public void set(int i) {
+        words[i >>> ADDRESS_BITS_PER_WORD] |= 1L << i;
+    }
+
+    // clears every bit
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+
+    /**
+     * sets the bits for the sites in [from, to)
+     * returns the number of bits that were not set before
+     */
+    public int setRange(int from, int to) {
+        checkRange(from, to);
+        if (from == to) return 0;
+
+        int firstWord = from >>> ADDRESS_BITS_PER_WORD;
+        int lastWord = (to - 1) >>> ADDRESS_BITS_PER_WORD;
+        long firstMask = WORD_MASK << from;
+        long lastMask = WORD_MASK >>> -to;
+
+        // the range fits inside a single word
+        if (firstWord == lastWord) return setBits(firstWord, firstMask & lastMask);
+
+        // partial first word, full middle words, partial last word
+        int added = setBits(firstWord, firstMask);
+        for (int w = firstWord + 1; w < lastWord; w++) added += setBits(w, WORD_MASK);
+        added += setBits(lastWord, lastMask);
+        return added;
+    }
+
+
+    /**
+     * returns the number of set bits in the whole set
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) count += Long.bitCount(word);
+        return count;
+    }
+
+
+    /**
+     * returns the number of set bits for the sites in [from, to)
+     */
+    public int cardinality(int from, int to) {
+        checkRange(from, to);
+        if (from == to) return 0;
+
+        int firstWord = from >>> ADDRESS_BITS_PER_WORD;
+        int lastWord = (to - 1) >>> ADDRESS_BITS_PER_WORD;
+        long firstMask = WORD_MASK << from;
+        long lastMask = WORD_MASK >>> -to;
+
+        if (firstWord == lastWord) return Long.bitCount(words[firstWord] & firstMask & lastMask);
+
+        int count = Long.bitCount(words[firstWord] & firstMask);
+        for (int w = firstWord + 1; w < lastWord; w++) count += Long.bitCount(words[w]);
+        count += Long.bitCount(words[lastWord] & lastMask);
+        return count;
+    }
+
+
+    /**
+     * ors the mask into the given word
+     * returns the number of bits that were newly set
+     */
+    private int setBits(int wordIndex, long mask) {
+        long added = mask & ~words[wordIndex];
+        words[wordIndex] |= mask;
+        return Long.bitCount(added);
+    }
+
+
+    /**
+     * function that checks if a range of sites is valid
+     */
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > length || from > to)
+            throw new IllegalArgumentException();
+    }
+}
@@ -0,0 +1,123 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * runs seeded percolation trials in batches until the 95% confidence interval of the
+ * threshold is tight enough, instead of running a fixed number of trials
+ *
+ * after every batch the number of trials still needed is estimated from the current
+ * standard deviation, and the next batch is sized to reach it (at most doubling the
+ * trials done so far). batch boundaries only depend on the results, never on the
+ * number of threads, so without a time budget the run is reproducible for a seed
+ */
+public class TrialScheduler {
+
+    // size of the first batch and lower bound for every later one
+    private static final int MIN_BATCH = 64;
+
+    // variables
+    private final PercolationStats stats;
+    private final long elapsedMillis;
+    private final boolean converged;
+
+
+    /**
+     * runs trials on an n-by-n grid until the 95% interval half-width is at most halfWidth
+     * or the time budget (in milliseconds, 0 for none) is used up
+     * a batch that is running when the budget runs out is still completed
+     */
+    public TrialScheduler(int n, double halfWidth, long timeBudgetMillis, long seed, int threads,
+                          PercolationStats.Sampling sampling) {
+        // check the arguments
+        if (n < 1 || !(halfWidth > 0.0) || timeBudgetMillis < 0 || threads < 1
+                || sampling == null) {
+            throw new IllegalArgumentException();
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetMillis * 1_000_000L;
+
+        RunningStats results = new RunningStats();
+        ThreadLocal<PercolationStats.Worker> workers = PercolationStats.workers(n, sampling);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        boolean done = false;
+        try {
+            int batch = MIN_BATCH;
+            while (true) {
+                // run the next batch and add it after the ones before it
+                int lo = (int) results.count();
+                int hi = (int) Math.min(Integer.MAX_VALUE, (long) lo + batch);
+                results.merge(PercolationStats.runTrials(pool, workers, seed, lo, hi));
+
+                // stop once the interval is tight enough, the time is up or no trials are left
+                if (results.halfWidth(PercolationStats.CONFIDENCE_95) <= halfWidth) {
+                    done = true;
+                    break;
+                }
+                if (timeBudgetMillis > 0 && System.nanoTime() - deadline >= 0) break;
+                if (hi == Integer.MAX_VALUE) break;
+
+                // the half-width shrinks like 1/sqrt(trials): estimate the trials still needed
+                double z = PercolationStats.CONFIDENCE_95;
+                double needed = Math.pow(z * results.stddev() / halfWidth, 2);
+                double remaining = Math.ceil(needed) - results.count();
+                batch = (int) Math.max(MIN_BATCH, Math.min(remaining, results.count()));
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        stats = new PercolationStats(results);
+        elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+        converged = done;
+    }
+
+    // returns the statistics of all the trials that were run
+    public PercolationStats stats() {
+        return stats;
+    }
+
+    // returns the number of trials that were run
+    public int trials() {
+        return stats.trials();
+    }
+
+    // returns the wall-clock time spent, in milliseconds
+    public long elapsedMillis() {
+        return elapsedMillis;
+    }
+
+    // did the interval reach the requested half-width (false if the time budget ran out)?
+    public boolean converged() {
+        return converged;
+    }
+
+    // test client
+    // usage: java TrialScheduler n halfWidth [timeBudgetMillis] [seed] [threads]
+    public static void main(String[] args) {
+        int n = Integer.parseInt(args[0]);
+        double halfWidth = Double.parseDouble(args[1]);
+        long budget = args.length >= 3 ? Long.parseLong(args[2]) : 0;
+        long seed = args.length >= 4 ? Long.parseLong(args[3]) : System.nanoTime();
+        int threads = args.length >= 5 ? Integer.parseInt(args[4])
+                                       : Runtime.getRuntime().availableProcessors();
+
+        TrialScheduler scheduler = new TrialScheduler(n, halfWidth, budget, seed, threads,
+                                                      PercolationStats.Sampling.PERMUTATION);
+        PercolationStats stats = scheduler.stats();
+
+        StdOut.printf("mean                    = %f \n", stats.mean());
+        StdOut.printf("stddev                  = %f \n", stats.stddev());
+        StdOut.printf("95%% confidence interval = [%f, %f] \n", stats.confidenceLo(),
+                      stats.confidenceHi());
+        StdOut.printf("trials                  = %d \n", scheduler.trials());
+        StdOut.printf("time                    = %d ms%s \n", scheduler.elapsedMillis(),
+                      scheduler.converged() ? "" : " (time budget used up)");
+    }
+}
@@ -0,0 +1,76 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+/**
+ * union-find engine used by PercolationGrid
+ * elements are numbered 0 to length() - 1
+ */
+public interface UnionFind {
+
+    /**
+     * the available engines
+     */
+    enum Kind {
+        // weighted by size, path halving, parent and size packed in one int array
+        PATH_HALVING,
+
+        // union by rank kept in a byte array, path halving
+        RANK,
+
+        // algs4 WeightedQuickUnionUF (weighted by size, no path compression)
+        ALGS4;
+
+        /**
+         * creates an engine of this kind over the given number of elements
+         */
+        public UnionFind create(int length) {
+            switch (this) {
+                case PATH_HALVING:
+                    return new PathHalvingUF(length);
+                case RANK:
+                    return new RankUF(length);
+                default:
+                    return new Algs4UF(length);
+            }
+        }
+    }
+
+    /**
+     * returns the number of elements
+     */
+    int length();
+
+    /**
+     * returns the root of the component containing p
+     */
+    int find(int p);
+
+    /**
+     * merges the components with the two given (distinct) roots
+     * returns the root of the merged component
+     */
+    int link(int rootP, int rootQ);
+
+    /**
+     * puts every element back in its own component
+     */
+    void reset();
+
+    /**
+     * returns the number of elements in the component with the given root,
+     * or -1 if the engine does not keep component sizes
+     */
+    default int size(int root) {
+        return -1;
+    }
+
+    /**
+     * returns the number of links between p and its root, or -1 if the engine cannot tell
+     * does not change the structure
+     */
+    default int depth(int p) {
+        return -1;
+    }
+}
@@ -0,0 +1,98 @@
+/* *****************************************************************************
+ *  Name:              Blake Martin
+ *  Last modified:     10/18/2026
+ **************************************************************************** */
+
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.SplittableRandom;
+
+/**
+ * compares the union-find engines behind PercolationGrid
+ *
+ * for every engine it runs the same seeded trials (open random sites until the
+ * system percolates), then measures find() throughput and the depth of the trees
+ * left behind in the percolated grid
+ *
+ * usage: java UnionFindBenchmark n trials [engine ...]
+ * where engine is one of PATH_HALVING, RANK, ALGS4 (default: all of them)
+ */
+public class UnionFindBenchmark {
+
+    // seed shared by all engines so they see identical open sequences
+    private static final long SEED = 20261018L;
+
+    // number of find() calls timed after every trial, per site
+    private static final int FINDS_PER_SITE = 1;
+
+    public static void main(String[] args) {
+        // get the grid size, the number of trials and the engines to compare
+        int n = Integer.parseInt(args[0]);
+        int trials = Integer.parseInt(args[1]);
+        UnionFind.Kind[] kinds = UnionFind.Kind.values();
+        if (args.length > 2) {
+            kinds = new UnionFind.Kind[args.length - 2];
+            for (int i = 2; i < args.length; i++) kinds[i - 2] = UnionFind.Kind.valueOf(args[i]);
+        }
+
+        StdOut.printf("%-14s %12s %14s %10s %10s%n", "engine", "ms/trial", "finds/sec",
+                      "avg depth", "max depth");
+        for (UnionFind.Kind kind : kinds) run(kind, n, trials);
+    }
+
+
+    /**
+     * runs the benchmark for a single engine and prints one line of results
+     */
+    private static void run(UnionFind.Kind kind, int n, int trials) {
+        int sites = n * n;
+        UnionFind uf = kind.create(sites);
+        PercolationGrid perc = new PercolationGrid(n, uf);
+
+        long trialNanos = 0;
+        long findNanos = 0;
+        long finds = 0;
+        long depthSum = 0;
+        long depthCount = 0;
+        int maxDepth = -1;
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int trial = 0; trial < trials; trial++) {
+            // time a full trial, including the reset
+            long start = System.nanoTime();
+            perc.reset();
+            while (!perc.percolates()) {
+                int arrID = random.nextInt(sites);
+                perc.open(arrID / n + 1, arrID % n + 1);
+            }
+            trialNanos += System.nanoTime() - start;
+
+            // measure the depth of every open site before the timed finds compress paths
+            for (int arrID = 0; arrID < sites; arrID++) {
+                if (!perc.isOpen(arrID / n + 1, arrID % n + 1)) continue;
+                int depth = uf.depth(arrID);
+                if (depth < 0) break;
+                depthSum += depth;
+                depthCount++;
+                maxDepth = Math.max(maxDepth, depth);
+            }
+
+            // time random finds on the percolated grid
+            // the sum of the roots is printed later so the calls cannot be optimised away
+            long checksum = 0;
+            start = System.nanoTime();
+            for (long i = 0; i < (long) FINDS_PER_SITE * sites; i++) {
+                checksum += uf.find(random.nextInt(sites));
+            }
+            findNanos += System.nanoTime() - start;
+            finds += (long) FINDS_PER_SITE * sites;
+            if (checksum == -1) StdOut.println(checksum);
+        }
+
+        String avgDepth = depthCount == 0 ? "n/a"
+                                          : String.format("%.3f", (double) depthSum / depthCount);
+        String maxDepthText = maxDepth < 0 ? "n/a" : Integer.toString(maxDepth);
+        StdOut.printf("%-14s %12.3f %14.0f %10s %10s%n", kind, trialNanos / 1e6 / trials,
+                      finds / (findNanos / 1e9), avgDepth, maxDepthText);
+    }
+}
@@ -0,0 +1,109 @@
+package percolation.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * open, isFull and percolates of PercolationGrid
+ *
+ * open is timed per grid: one invocation opens every site of a freshly reset grid in random
+ * order.
+ * isFull and percolates are timed per call on a grid with 59% of its sites open
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PercolationGridBenchmark {
+
+    private static final String CLASS = "PercolationGrid";
+    private static final MethodHandle NEW = Sites.constructor(CLASS, int.class);
+    private static final MethodHandle OPEN =
+            Sites.method(CLASS, "open", void.class, int.class, int.class);
+    private static final MethodHandle IS_FULL =
+            Sites.method(CLASS, "isFull", boolean.class, int.class, int.class);
+    private static final MethodHandle PERCOLATES = Sites.method(CLASS, "percolates", boolean.class);
+    private static final MethodHandle RESET = Sites.method(CLASS, "reset", void.class);
+
+    /**
+     * a blocked grid for every invocation, reset rather than rebuilt as in the trial loop
+     */
+    @State(Scope.Thread)
+    public static class Blocked {
+        @Param({ "10", "100", "1000", "10000" })
+        int n;
+
+        int[] order;
+        Object perc;
+
+        @Setup(Level.Trial)
+        public void order() {
+            order = Sites.shuffled(n);
+        }
+
+        @Setup(Level.Invocation)
+        public void create() throws Throwable {
+            if (perc == null) perc = (Object) NEW.invokeExact(n);
+            else RESET.invokeExact(perc);
+        }
+    }
+
+    /**
+     * one grid with OPEN_FRACTION of its sites open, queried in random order
+     */
+    @State(Scope.Thread)
+    public static class Opened {
+        @Param({ "10", "100", "1000", "10000" })
+        int n;
+
+        int[] order;
+        int next;
+        Object perc;
+
+        @Setup(Level.Trial)
+        public void fill() throws Throwable {
+            order = Sites.shuffled(n);
+            perc = (Object) NEW.invokeExact(n);
+            for (int i = 0; i < Sites.OPEN_FRACTION * order.length; i++) {
+                OPEN.invokeExact(perc, order[i] / n + 1, order[i] % n + 1);
+            }
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object open(Blocked state) throws Throwable {
+        int n = state.n;
+        Object perc = state.perc;
+        for (int arrID : state.order) OPEN.invokeExact(perc, arrID / n + 1, arrID % n + 1);
+        return perc;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean isFull(Opened state) throws Throwable {
+        int i = state.next;
+        state.next = i + 1 == state.order.length ? 0 : i + 1;
+        int arrID = state.order[i];
+        return (boolean) IS_FULL.invokeExact(state.perc, arrID / state.n + 1, arrID % state.n + 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean percolates(Opened state) throws Throwable {
+        return (boolean) PERCOLATES.invokeExact(state.perc);
+    }
+}
@@ -0,0 +1,46 @@
+package percolation.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the full PercolationStats trial loop
+ *
+ * one invocation is the serial constructor running TRIALS trials, so the result includes
+ * building the grid once and resetting it between trials
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class PercolationStatsBenchmark {
+
+    // trials per invocation
+    private static final int TRIALS = 2;
+
+    private static final String CLASS = "PercolationStats";
+    private static final MethodHandle NEW = Sites.constructor(CLASS, int.class, int.class);
+    private static final MethodHandle MEAN = Sites.method(CLASS, "mean", double.class);
+
+    @Param({ "10", "100", "1000", "10000" })
+    int n;
+
+    @Benchmark
+    public double trials() throws Throwable {
+        Object stats = (Object) NEW.invokeExact(n, TRIALS);
+        return (double) MEAN.invokeExact(stats);
+    }
+}
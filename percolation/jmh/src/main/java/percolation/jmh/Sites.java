@@ -0,0 +1,71 @@
+package percolation.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.SplittableRandom;
+
+/**
+ * shared pieces of the percolation benchmarks
+ *
+ * the course classes live in the unnamed package, which a named package cannot import and
+ * JMH will not generate benchmarks for, so the benchmarks reach them through method handles.
+ * held in static final fields the handles are constants to the JIT, which inlines the
+ * calls behind them like direct calls
+ */
+final class Sites {
+
+    // fraction of sites opened before timing the queries, close to the threshold
+    static final double OPEN_FRACTION = 0.59;
+
+    // seed for the site orders, so every run measures the same work
+    private static final long SEED = 20261018L;
+
+    private Sites() {
+    }
+
+    /**
+     * returns a handle to the constructor of the named class, typed to return Object
+     */
+    static MethodHandle constructor(String className, Class<?>... parameters) {
+        try {
+            Class<?> type = Class.forName(className);
+            MethodHandle handle = MethodHandles.publicLookup()
+                    .findConstructor(type, MethodType.methodType(void.class, parameters));
+            return handle.asType(MethodType.methodType(Object.class, parameters));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * returns a handle to the named instance method, typed to take the receiver as Object
+     */
+    static MethodHandle method(String className, String name, Class<?> returnType,
+                               Class<?>... parameters) {
+        try {
+            Class<?> type = Class.forName(className);
+            MethodHandle handle = MethodHandles.publicLookup()
+                    .findVirtual(type, name, MethodType.methodType(returnType, parameters));
+            return handle.asType(handle.type().changeParameterType(0, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * returns the site ids of an n-by-n grid in a fixed random order
+     */
+    static int[] shuffled(int n) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int[] order = new int[n * n];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,172 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+// thread-safe deque for producer/consumer pipelines
+//
+// every operation may be called from any thread at both ends without locking.
+// the nodes are linked and unlinked with compare-and-set by the lock-free
+// java.util.concurrent.ConcurrentLinkedDeque this class wraps; on top of it the class keeps
+// the Deque contract (null items are rejected, removing from an empty deque throws)
+// and adds poll variants that return null instead of throwing.
+//
+// when a single owner thread adds and removes at one end and other threads only take from
+// the other, WorkStealingDeque is the cheaper choice
+public class ConcurrentDeque<Item> implements Iterable<Item> {
+
+    // the underlying lock-free linked deque
+    private final ConcurrentLinkedDeque<Item> items = new ConcurrentLinkedDeque<>();
+
+    // construct an empty deque
+    public ConcurrentDeque() {
+    }
+
+    // is the deque empty? only a snapshot when other threads are active
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    // return the number of items on the deque
+    // this walks the whole deque, and is only a snapshot when other threads are active
+    public int size() {
+        return items.size();
+    }
+
+    // add the item to the front
+    public void addFirst(Item item) {
+        // check that a null item was not passed
+        if (item == null) throw new IllegalArgumentException();
+        items.addFirst(item);
+    }
+
+    // add the item to the back
+    public void addLast(Item item) {
+        // check that a null item was not passed
+        if (item == null) throw new IllegalArgumentException();
+        items.addLast(item);
+    }
+
+    // remove and return the item from the front
+    public Item removeFirst() {
+        Item item = items.pollFirst();
+        if (item == null) throw new NoSuchElementException();
+        return item;
+    }
+
+    // remove and return the item from the back
+    public Item removeLast() {
+        Item item = items.pollLast();
+        if (item == null) throw new NoSuchElementException();
+        return item;
+    }
+
+    // remove and return the item from the front, or null if empty
+    public Item pollFirst() {
+        return items.pollFirst();
+    }
+
+    // remove and return the item from the back, or null if empty
+    public Item pollLast() {
+        return items.pollLast();
+    }
+
+    // return an iterator over items in order from front to back
+    // the iterator never throws ConcurrentModificationException; it sees every item that
+    // stays on the deque for the whole iteration and may or may not see the others
+    public Iterator<Item> iterator() {
+        return new ConcurrentDequeIterator();
+    }
+
+    // private class for deque iterator
+    private class ConcurrentDequeIterator implements Iterator<Item> {
+        private final Iterator<Item> it = items.iterator();
+
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        public void remove() {
+            // not supported and not implemented
+            throw new UnsupportedOperationException();
+        }
+
+        public Item next() {
+            return it.next();
+        }
+
+    }
+
+    // stress test: producers add at both ends while the same number of consumers take from
+    // both ends, then checks that each item was taken exactly once
+    public static void main(String[] args) throws InterruptedException {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1])
+                                      : Math.max(4, Runtime.getRuntime().availableProcessors());
+        int producers = Math.max(1, threads / 2);
+        int consumers = Math.max(1, threads - producers);
+
+        ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+        QueueChecks.ExactlyOnce taken = new QueueChecks.ExactlyOnce(items);
+        AtomicLong consumed = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] workers = new Thread[producers + consumers];
+        for (int p = 0; p < producers; p++) {
+            int id = p;
+            workers[p] = new Thread(() -> {
+                await(start);
+                // producer p adds items p, p + producers, p + 2 * producers, ...
+                for (int i = id; i < items; i += producers) {
+                    if ((i & 1) == 0) deque.addFirst(i);
+                    else deque.addLast(i);
+                }
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            boolean front = (c & 1) == 0;
+            workers[producers + c] = new Thread(() -> {
+                await(start);
+                // keep polling until every item has been consumed by some consumer
+                while (consumed.get() < items) {
+                    Integer item = front ? deque.pollFirst() : deque.pollLast();
+                    if (item == null) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    taken.take(item);
+                    consumed.incrementAndGet();
+                }
+            });
+        }
+        for (Thread worker : workers) worker.start();
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+        double millis = (System.nanoTime() - begin) / 1e6;
+
+        System.out.printf("%d items, %d producers, %d consumers, %.0f ms, %d left%n",
+                          items, producers, consumers, millis, deque.size());
+        taken.report();
+
+        // removing from the now empty deque throws, polling returns null
+        System.out.println("pollFirst on empty deque returns " + deque.pollFirst());
+        try {
+            deque.removeLast();
+        } catch (NoSuchElementException e) {
+            System.out.println("removeLast on empty deque throws NoSuchElementException");
+        }
+    }
+
+    // private function to wait for the start signal in the stress test
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
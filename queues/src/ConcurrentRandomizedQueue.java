@@ -0,0 +1,213 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+// thread-safe randomized queue for handing out work to many threads
+//
+// the items are spread over a power-of-two number of stripes, each an ordinary
+// RandomizedQueue with its own lock. enqueue puts the item on the calling thread's stripe
+// (chosen by hashing the thread id), so producers rarely contend. dequeue picks a random
+// non-empty stripe and then a random item in it, and moves on to another stripe instead of
+// waiting when the lock it picked is busy.
+//
+// uniformity: each call is uniform over the non-empty stripes and then over the items of the
+// stripe, so an item on a stripe holding m of the N items is returned with probability
+// 1 / (s * m), where s is the number of non-empty stripes, instead of the exact 1 / N.
+// the ratio between the two is (N / s) / m, the average non-empty stripe size over the size
+// of the item's own stripe: when the non-empty stripes hold between mMin and mMax items each,
+// every item's probability lies within a factor mMax / mMin of uniform. items enqueued by a
+// single thread share a stripe and are sampled exactly uniformly among themselves, and
+// producers that enqueue at the same rate keep the stripes, and so the bias, close to even.
+// the stripe sizes are read without locking, so under concurrent changes the choice of
+// stripe can additionally be off by the operations in flight
+public class ConcurrentRandomizedQueue<Item> {
+
+    // ints between the stripe counts, so the counts of different stripes do not share
+    // a 64-byte cache line
+    private static final int PAD = 16;
+
+    // dequeue attempts at random stripes before falling back to a full scan
+    private static final int RANDOM_PROBES = 4;
+
+    // the stripes, their locks and their sizes (at index stripe * PAD)
+    private final RandomizedQueue<Item>[] stripes;
+    private final ReentrantLock[] locks;
+    private final AtomicIntegerArray counts;
+
+    // log2 of the number of stripes, used to hash a thread id to a stripe
+    private final int shift;
+
+    // construct an empty queue with one stripe per available processor, rounded up to a
+    // power of two
+    public ConcurrentRandomizedQueue() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // construct an empty queue with at least the given number of stripes
+    public ConcurrentRandomizedQueue(int stripeCount) {
+        if (stripeCount < 1 || stripeCount > 1 << 16) throw new IllegalArgumentException();
+
+        int size = Integer.highestOneBit(stripeCount);
+        if (size < stripeCount) size *= 2;
+
+        stripes = newStripes(size);
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            // each stripe draws from the generator of the thread holding its lock
+            stripes[i] = new RandomizedQueue<>(RandomSource.threadLocal());
+            locks[i] = new ReentrantLock();
+        }
+        counts = new AtomicIntegerArray(size * PAD);
+        shift = Integer.numberOfTrailingZeros(size);
+    }
+
+    // is the queue empty? only a snapshot when other threads are active
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // return the number of items on the queue, only a snapshot when other threads are active
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < stripes.length; i++) size += counts.get(i * PAD);
+        return size;
+    }
+
+    // return the number of stripes
+    public int stripes() {
+        return stripes.length;
+    }
+
+    // add the item to the calling thread's stripe
+    public void enqueue(Item item) {
+        // check that a null item was not passed
+        if (item == null) throw new IllegalArgumentException();
+
+        int stripe = threadStripe();
+        locks[stripe].lock();
+        try {
+            stripes[stripe].enqueue(item);
+            counts.incrementAndGet(stripe * PAD);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    // remove and return a random item
+    public Item dequeue() {
+        Item item = poll();
+        if (item == null) throw new NoSuchElementException();
+        return item;
+    }
+
+    // remove and return a random item, or null if the queue was seen empty
+    public Item poll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // a few tries at random stripes, skipping empty ones and ones whose lock is busy
+        for (int probe = 0; probe < RANDOM_PROBES; probe++) {
+            int stripe = random.nextInt(stripes.length);
+            if (counts.get(stripe * PAD) == 0 || !locks[stripe].tryLock()) continue;
+            try {
+                Item item = take(stripe);
+                if (item != null) return item;
+            } finally {
+                locks[stripe].unlock();
+            }
+        }
+
+        // mostly empty or busy: pick uniformly among the stripes that report items, by
+        // reservoir sampling over one pass, and wait for its lock this time
+        while (true) {
+            int stripe = -1;
+            int nonEmpty = 0;
+            for (int i = 0; i < stripes.length; i++) {
+                if (counts.get(i * PAD) == 0) continue;
+                nonEmpty++;
+                if (random.nextInt(nonEmpty) == 0) stripe = i;
+            }
+            if (nonEmpty == 0) return null;
+
+            locks[stripe].lock();
+            try {
+                Item item = take(stripe);
+                if (item != null) return item;
+            } finally {
+                locks[stripe].unlock();
+            }
+        }
+    }
+
+    // private function to dequeue from a stripe whose lock is held, null if it is empty
+    private Item take(int stripe) {
+        if (stripes[stripe].isEmpty()) return null;
+        counts.decrementAndGet(stripe * PAD);
+        return stripes[stripe].dequeue();
+    }
+
+    // private function to hash the calling thread to a stripe (Fibonacci hashing)
+    private int threadStripe() {
+        if (shift == 0) return 0;
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9e3779b97f4a7c15L) >>> (64 - shift));
+    }
+
+    // private function to allocate the stripe array; a generic array cannot be created
+    // directly, and the unchecked cast is safe because the array never leaves the class
+    @SuppressWarnings("unchecked")
+    private static <Item> RandomizedQueue<Item>[] newStripes(int size) {
+        return (RandomizedQueue<Item>[]) new RandomizedQueue<?>[size];
+    }
+
+    // stress test: every thread enqueues its share of the items and dequeues about as many,
+    // then each item must have been dequeued exactly once; repeated for 1, 2, 4, ... threads
+    public static void main(String[] args) throws InterruptedException {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+                                         : Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ConcurrentRandomizedQueue<Integer> queue = new ConcurrentRandomizedQueue<>(
+                    Math.max(threads, Runtime.getRuntime().availableProcessors()));
+            QueueChecks.ExactlyOnce taken = new QueueChecks.ExactlyOnce(items);
+            CountDownLatch start = new CountDownLatch(1);
+
+            int count = threads;
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                workers[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    // enqueue items id, id + threads, ..., dequeuing one after every other one
+                    for (int i = id; i < items; i += count) {
+                        queue.enqueue(i);
+                        if ((i / count & 1) == 1) {
+                            Integer item = queue.poll();
+                            if (item != null) taken.take(item);
+                        }
+                    }
+                    // then help empty the queue
+                    Integer item;
+                    while ((item = queue.poll()) != null) taken.take(item);
+                });
+                workers[t].start();
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Thread worker : workers) worker.join();
+            double millis = (System.nanoTime() - begin) / 1e6;
+
+            System.out.printf("%2d threads, %d stripes: %.0f ms, %.1f Mops/s%n",
+                              threads, queue.stripes(), millis, 2 * items / millis / 1e3);
+            taken.report();
+        }
+    }
+
+}
@@ -1,5 +1,10 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
 
 public class Deque<Item> implements Iterable<Item> {
 
@@ -142,6 +147,117 @@ public class Deque<Item> implements Iterable<Item> {
         return lastItem;
     }
 
+    // add all the items to the front, keeping their order
+    // so the first item given becomes the first item of the deque
+    public void addAllFirst(Iterable<? extends Item> items) {
+        if (items == null) throw new IllegalArgumentException();
+        spliceFirst(new Deque<Item>(items));
+    }
+
+    // add all the items in the array to the front, keeping their order
+    public void addAllFirst(Item[] items) {
+        if (items == null) throw new IllegalArgumentException();
+        addAllFirst(Arrays.asList(items));
+    }
+
+    // add all the items to the back, keeping their order
+    public void addAllLast(Iterable<? extends Item> items) {
+        if (items == null) throw new IllegalArgumentException();
+        splice(new Deque<Item>(items));
+    }
+
+    // add all the items in the array to the back, keeping their order
+    public void addAllLast(Item[] items) {
+        if (items == null) throw new IllegalArgumentException();
+        addAllLast(Arrays.asList(items));
+    }
+
+    // private constructor for the bulk adds
+    // links the items into a chain of its own first, so a null item leaves the deque
+    // that is being added to unchanged
+    private Deque(Iterable<? extends Item> items) {
+        for (Item item : items) {
+            // check that a null item was not passed
+            if (item == null) throw new IllegalArgumentException();
+
+            Node node = new Node();
+            node.item = item;
+            node.prev = last;
+            if (last == null) first = node;
+            else last.next = node;
+            last = node;
+            numElems++;
+        }
+    }
+
+    // move all the items of the other deque to the back of this one in constant time
+    // by linking its first node after this deque's last node; the other deque is left empty
+    public void splice(Deque<Item> other) {
+        if (other == null || other == this) throw new IllegalArgumentException();
+        if (other.numElems == 0) return;
+
+        if (numElems == 0) {
+            first = other.first;
+        } else {
+            last.next = other.first;
+            other.first.prev = last;
+        }
+        last = other.last;
+        numElems += other.numElems;
+
+        other.clear();
+    }
+
+    // private function to move all the items of the other deque to the front of this one
+    private void spliceFirst(Deque<Item> other) {
+        if (other.numElems == 0) return;
+
+        if (numElems == 0) {
+            last = other.last;
+        } else {
+            other.last.next = first;
+            first.prev = other.last;
+        }
+        first = other.first;
+        numElems += other.numElems;
+
+        other.clear();
+    }
+
+    // private function to empty the deque without touching the nodes
+    private void clear() {
+        first = null;
+        last = null;
+        numElems = 0;
+    }
+
+    // remove up to max items from the front and add them to the collection in order
+    // returns the number of items moved
+    // if target.add throws, the items added before it are removed from the deque and the
+    // rest, including the one that failed, stay on it, so no item is lost or duplicated
+    public int drainTo(Collection<? super Item> target, int max) {
+        if (target == null || max < 0) throw new IllegalArgumentException();
+
+        // walk the nodes without unlinking them one by one
+        int moved = 0;
+        Node current = first;
+        try {
+            while (moved < max && current != null) {
+                target.add(current.item);
+                current = current.next;
+                moved++;
+            }
+        } finally {
+            // cut the nodes that were added off in one step
+            first = current;
+            if (current == null) last = null;
+            else current.prev = null;
+            numElems -= moved;
+        }
+
+        return moved;
+    }
+
     // return an iterator over items in order from front to back
     public Iterator<Item> iterator() {
         return new DequeIterator();
@@ -231,6 +347,40 @@ public class Deque<Item> implements Iterable<Item> {
         System.out.println("Item removed from the back is " + myDeque.removeLast());
         for (Integer i : myDeque) System.out.print(i);
         System.out.println();
+
+        // bulk operations
+        Deque<Integer> other = new Deque<>();
+        other.addAllLast(new Integer[] { 4, 5, 6 });
+        other.addAllFirst(List.of(1, 2, 3));
+        myDeque.addAllLast(new Integer[] { 7, 8 });
+        System.out.print("Bulk adds give ");
+        for (Integer i : other) System.out.print(i);
+        System.out.print(" and ");
+        for (Integer i : myDeque) System.out.print(i);
+        System.out.println();
+
+        // splice moves every node of the other deque in one step
+        myDeque.splice(other);
+        System.out.print("After splice: ");
+        for (Integer i : myDeque) System.out.print(i);
+        System.out.println(" (other deque size is " + other.size() + ")");
+
+        // drain part of the deque into a list
+        List<Integer> list = new ArrayList<>();
+        System.out.println("Drained " + myDeque.drainTo(list, 3) + " items: " + list);
+        System.out.print("Left on the deque: ");
+        for (Integer i : myDeque) System.out.print(i);
+        System.out.println();
+
+        // a target that fails part way keeps what it took, the deque keeps the rest
+        int before = myDeque.size();
+        ArrayBlockingQueue<Integer> full = new ArrayBlockingQueue<>(2);
+        try {
+            myDeque.drainTo(full, before);
+        } catch (IllegalStateException e) {
+            System.out.println("Bounded target took " + full + ", deque size " + before
+                                       + " -> " + myDeque.size());
+        }
     }
 
 }
@@ -0,0 +1,187 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+public class IntDeque {
+
+    // smallest capacity the array is ever shrunk to, must be a power of two
+    private static final int MIN_CAPACITY = 8;
+
+    // circular array containing the values, unboxed
+    // the capacity is always a power of two so indices wrap with a mask instead of a modulo
+    private int[] arr;
+    private int mask;
+
+    // index of the first value and the number of values
+    private int head = 0;
+    private int numElems = 0;
+
+    // construct an empty deque
+    public IntDeque() {
+        arr = new int[MIN_CAPACITY];
+        mask = MIN_CAPACITY - 1;
+    }
+
+    // is the deque empty?
+    public boolean isEmpty() {
+        return numElems == 0;
+    }
+
+    // return the number of values on the deque
+    public int size() {
+        return numElems;
+    }
+
+    // add the value to the front
+    public void addFirst(int value) {
+        // check if the array should be resized
+        if (numElems == arr.length) resize(2 * arr.length);
+
+        // step the head back one position, wrapping around to the end of the array
+        head = (head - 1) & mask;
+        arr[head] = value;
+        numElems++;
+    }
+
+    // add the value to the back
+    public void addLast(int value) {
+        // check if the array should be resized
+        if (numElems == arr.length) resize(2 * arr.length);
+
+        // the slot after the last value, wrapping around to the start of the array
+        arr[(head + numElems) & mask] = value;
+        numElems++;
+    }
+
+    // remove and return the value from the front
+    public int removeFirst() {
+        // check if empty
+        if (numElems == 0) throw new NoSuchElementException();
+
+        int value = arr[head];
+        head = (head + 1) & mask;
+        numElems--;
+
+        // check if the array should be resized
+        shrinkIfSparse();
+
+        return value;
+    }
+
+    // remove and return the value from the back
+    public int removeLast() {
+        // check if empty
+        if (numElems == 0) throw new NoSuchElementException();
+
+        int value = arr[(head + numElems - 1) & mask];
+        numElems--;
+
+        // check if the array should be resized
+        shrinkIfSparse();
+
+        return value;
+    }
+
+    // halve the array once it is a quarter full, but never below MIN_CAPACITY
+    private void shrinkIfSparse() {
+        if (arr.length > MIN_CAPACITY && numElems == arr.length / 4) resize(arr.length / 2);
+    }
+
+    // private function to resize the array when needed
+    // the values are unwrapped so the first one ends up at index 0
+    private void resize(int capacity) {
+        int[] copy = new int[capacity];
+
+        // copy the part from head to the end of the array, then the wrapped-around part
+        int firstPart = Math.min(numElems, arr.length - head);
+        System.arraycopy(arr, head, copy, 0, firstPart);
+        System.arraycopy(arr, 0, copy, firstPart, numElems - firstPart);
+
+        arr = copy;
+        mask = capacity - 1;
+        head = 0;
+    }
+
+    // pass every value to the action in order from front to back, without boxing
+    public void forEach(IntConsumer action) {
+        if (action == null) throw new IllegalArgumentException();
+        for (int i = 0; i < numElems; i++) action.accept(arr[(head + i) & mask]);
+    }
+
+    // return an iterator over values in order from front to back
+    // nextInt() returns the value unboxed, next() would box it
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntDequeIterator();
+    }
+
+    // private class for deque iterator
+    private class IntDequeIterator implements PrimitiveIterator.OfInt {
+        // number of values returned so far
+        private int i = 0;
+
+        public boolean hasNext() {
+            return i < numElems;
+        }
+
+        public void remove() {
+            // not supported and not implemented
+            throw new UnsupportedOperationException();
+        }
+
+        public int nextInt() {
+            // check if there is a value to return
+            if (i >= numElems) throw new NoSuchElementException();
+
+            return arr[(head + i++) & mask];
+        }
+
+    }
+
+    public static void main(String[] args) {
+        // create a deque of ints
+        IntDeque myDeque = new IntDeque();
+
+        // check if empty
+        System.out.println("isEmpty? " + myDeque.isEmpty());
+
+        // add values to the front and back, printing the deque after each one
+        for (int i = 5; i >= 1; i--) {
+            myDeque.addFirst(i);
+            myDeque.forEach(System.out::print);
+            System.out.println();
+        }
+        for (int i = 6; i <= 9; i++) {
+            myDeque.addLast(i);
+            for (PrimitiveIterator.OfInt it = myDeque.iterator(); it.hasNext(); ) {
+                System.out.print(it.nextInt());
+            }
+            System.out.println();
+        }
+
+        // check the current size
+        System.out.println("Current deque size is " + myDeque.size());
+
+        // remove from the front and back
+        System.out.println("Value removed from the front is " + myDeque.removeFirst());
+        System.out.println("Value removed from the back is " + myDeque.removeLast());
+        myDeque.forEach(System.out::print);
+        System.out.println();
+
+        // check that the steady state does not allocate
+        // once the array has grown, pushing and popping the same number of values allocates nothing
+        IntDeque deque = new IntDeque();
+        long sum = 0;
+        for (int round = 0; round < 3; round++) {
+            long before = QueueChecks.allocatedBytes();
+            for (int i = 0; i < 1 << 20; i++) {
+                deque.addLast(i);
+                if (deque.size() > 1000) sum += deque.removeFirst();
+            }
+            while (deque.size() > 1000) sum += deque.removeLast();
+            long after = QueueChecks.allocatedBytes();
+            System.out.println("round " + round + " allocated " + (after - before) + " bytes");
+        }
+        System.out.println("sum " + sum);
+    }
+
+}
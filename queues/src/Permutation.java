@@ -1,12 +1,37 @@
 import edu.princeton.cs.algs4.StdIn;
 import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
 
 public class Permutation {
 
-    public static void main(String[] args) {
+    // size of the read buffer used by the reservoir mode
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // usage: java Permutation k                      reads everything into a randomized queue
+    //        java Permutation k reservoir [file]     keeps only k strings in memory
+    public static void main(String[] args) throws IOException {
         // get the number of outputs the permutation should return
         int numOut = Integer.parseInt(args[0]);
 
+        if (args.length > 1 && args[1].equals("reservoir")) {
+            ReadableByteChannel in = args.length > 2 ? FileChannel.open(Paths.get(args[2]))
+                                                     : Channels.newChannel(System.in);
+            try (in) {
+                for (String str : reservoir(new TokenReader(in), numOut)) StdOut.println(str);
+            }
+            return;
+        }
+
         // store the entries in a randomized queue
         RandomizedQueue<String> myRQ = new RandomizedQueue<>();
 
@@ -24,4 +49,132 @@ public class Permutation {
 
     }
 
+    // return k strings chosen uniformly at random from the input, in random order
+    // uses Algorithm L: after the reservoir is full the gap to the next string that
+    // replaces a reservoir entry is drawn directly, so the strings in between are only
+    // scanned, never turned into String objects, and memory stays O(k)
+    private static String[] reservoir(TokenReader in, int k) throws IOException {
+        if (k < 0) throw new IllegalArgumentException();
+        String[] sample = new String[k];
+        if (k == 0) return sample;
+
+        // fill the reservoir with the first k strings
+        for (int i = 0; i < k; i++) {
+            sample[i] = in.next();
+
+            // fewer than k strings, the same failure as dequeuing from an empty queue
+            if (sample[i] == null) throw new NoSuchElementException();
+        }
+
+        // w is the largest of k uniform variables; the gap to the next replacement is
+        // geometric with success probability w
+        double w = Math.exp(Math.log(random()) / k);
+        while (true) {
+            double gap = Math.floor(Math.log(random()) / Math.log(1 - w));
+            long skip = gap < Long.MAX_VALUE ? (long) gap : Long.MAX_VALUE;
+            if (in.skip(skip) < skip) break;
+
+            String str = in.next();
+            if (str == null) break;
+            sample[StdRandom.uniform(k)] = str;
+            w *= Math.exp(Math.log(random()) / k);
+        }
+
+        // the reservoir holds a uniform subset, but not in uniform order
+        StdRandom.shuffle(sample);
+        return sample;
+    }
+
+    // private function for a uniform random number in (0, 1], so its logarithm is finite
+    private static double random() {
+        return 1.0 - StdRandom.uniform();
+    }
+
+    // private class splitting a byte channel into whitespace-separated UTF-8 strings
+    // it reads through one reusable buffer and only decodes the strings that are asked for
+    private static class TokenReader {
+
+        private final ReadableByteChannel in;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final byte[] bytes = buffer.array();
+
+        // next unread byte and end of the valid bytes in the buffer
+        private int pos = 0;
+        private int limit = 0;
+
+        // bytes of the string being read, when it spans more than one buffer
+        private byte[] token = new byte[64];
+
+        TokenReader(ReadableByteChannel in) {
+            this.in = in;
+        }
+
+        // return the next string, or null at the end of the input
+        String next() throws IOException {
+            if (!skipWhitespace()) return null;
+
+            // the common case: the whole string is inside the buffer
+            int start = pos;
+            while (pos < limit && !isWhitespace(bytes[pos])) pos++;
+            if (pos < limit) return new String(bytes, start, pos - start, StandardCharsets.UTF_8);
+
+            // the string runs past the end of the buffer, collect it piece by piece
+            int length = 0;
+            while (true) {
+                int count = pos - start;
+                if (length + count > token.length) {
+                    token = Arrays.copyOf(token, Math.max(2 * token.length, length + count));
+                }
+                System.arraycopy(bytes, start, token, length, count);
+                length += count;
+                if (pos < limit || !fill()) break;
+                start = pos;
+                while (pos < limit && !isWhitespace(bytes[pos])) pos++;
+            }
+            return new String(token, 0, length, StandardCharsets.UTF_8);
+        }
+
+        // skip up to count strings and return how many were skipped
+        long skip(long count) throws IOException {
+            for (long i = 0; i < count; i++) {
+                if (!skipWhitespace()) return i;
+                while (true) {
+                    while (pos < limit && !isWhitespace(bytes[pos])) pos++;
+                    if (pos < limit || !fill()) break;
+                }
+            }
+            return count;
+        }
+
+        // private function to move to the start of the next string
+        // returns false if the input ends first
+        private boolean skipWhitespace() throws IOException {
+            while (true) {
+                while (pos < limit) {
+                    if (!isWhitespace(bytes[pos])) return true;
+                    pos++;
+                }
+                if (!fill()) return false;
+            }
+        }
+
+        // private function to refill the buffer, returns false at the end of the input
+        private boolean fill() throws IOException {
+            buffer.clear();
+            int read;
+            do {
+                read = in.read(buffer);
+            } while (read == 0);
+            pos = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        }
+
+        // private function for the ASCII whitespace that separates strings
+        private static boolean isWhitespace(byte b) {
+            return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+        }
+
+    }
+
 }
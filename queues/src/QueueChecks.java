@@ -0,0 +1,48 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// helpers shared by the test clients of the queue classes
+final class QueueChecks {
+
+    // looked up once, so that measuring allocation does not itself allocate
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private QueueChecks() {
+    }
+
+    // return the number of bytes allocated so far by the current thread
+    static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // counts how often each of the items 0 to n-1 was taken, safe to use from many threads
+    static final class ExactlyOnce {
+        private final AtomicIntegerArray taken;
+
+        ExactlyOnce(int items) {
+            taken = new AtomicIntegerArray(items);
+        }
+
+        // record that the item was taken
+        void take(int item) {
+            taken.incrementAndGet(item);
+        }
+
+        // print how many items were never taken and how many more than once
+        // returns true if every item was taken exactly once
+        boolean report() {
+            int missing = 0;
+            int duplicated = 0;
+            for (int i = 0; i < taken.length(); i++) {
+                if (taken.get(i) == 0) missing++;
+                else if (taken.get(i) > 1) duplicated++;
+            }
+            boolean ok = missing == 0 && duplicated == 0;
+            System.out.println("missing " + missing + ", duplicated " + duplicated
+                                       + (ok ? " - ok" : " - FAILED"));
+            return ok;
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+// source of random indices for RandomizedQueue
+//
+// StdRandom keeps one generator for the whole program, shared by every queue on every
+// thread. the other sources give each queue its own generator, or use the current thread's,
+// so the hot paths touch no shared state; the seeded ones also make runs reproducible.
+// a source is not thread-safe unless stated, like the queue that uses it
+public interface RandomSource {
+
+    // return a uniformly random integer in [0, n), n must be positive
+    int uniform(int n);
+
+    // the shared StdRandom generator, the default of RandomizedQueue
+    static RandomSource stdRandom() {
+        return StdRandom::uniform;
+    }
+
+    // a SplittableRandom of the queue's own, seeded for reproducible runs
+    static RandomSource splittable(long seed) {
+        return new SplittableRandom(seed)::nextInt;
+    }
+
+    // the generator of whichever thread makes the call, safe to share between threads
+    static RandomSource threadLocal() {
+        return n -> ThreadLocalRandom.current().nextInt(n);
+    }
+
+    // a xoshiro256++ generator of the queue's own, seeded for reproducible runs
+    static RandomSource xoshiro(long seed) {
+        return new XoshiroRandom(seed);
+    }
+
+}
@@ -1,6 +1,9 @@
-import edu.princeton.cs.algs4.StdRandom;
-
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 public class RandomizedQueue<Item> implements Iterable<Item> {
@@ -9,8 +12,22 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
     private Item[] arr;
     private int n = 0;
 
-    // construct an empty randomized queue
+    // where the random indices come from
+    private final RandomSource random;
+
+    // number of enqueues and dequeues so far, so lazy iterators can detect changes
+    private int modCount = 0;
+
+    // construct an empty randomized queue that draws from the shared StdRandom generator
     public RandomizedQueue() {
+        this(RandomSource.stdRandom());
+    }
+
+    // construct an empty randomized queue that draws from the given source
+    // for example RandomSource.xoshiro(seed) for a fast, reproducible generator of its own
+    public RandomizedQueue(RandomSource random) {
+        if (random == null) throw new IllegalArgumentException();
+        this.random = random;
         arr = (Item[]) new Object[1];
     }
 
@@ -34,6 +51,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
 
         // add the item
         arr[n++] = item;
+        modCount++;
     }
 
     // remove and return a random item
@@ -42,7 +60,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         if (n == 0) throw new NoSuchElementException();
 
         // get a random integer between 0 and N-1 (the current number of elements in the array)
-        int randInt = StdRandom.uniform(n);
+        int randInt = random.uniform(n);
 
         // get the item
         Item item = arr[randInt];
@@ -52,6 +70,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
 
         // avoid loitering
         arr[n] = null;
+        modCount++;
 
         // check if the array should be resized
         if (n > 0 && n == arr.length / 4) resize(arr.length / 2);
@@ -75,12 +94,85 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         if (n == 0) throw new NoSuchElementException();
 
         // get a random integer between 0 and N-1 (the current number of elements in the array)
-        int randInt = StdRandom.uniform(n);
+        int randInt = random.uniform(n);
 
         // return the item
         return arr[randInt];
     }
 
+    // return k random items (but do not remove them)
+    // with replacement the same item may be returned more than once; without replacement
+    // the k items are distinct, which needs k <= size()
+    public List<Item> sample(int k, boolean withReplacement) {
+        if (k < 0) throw new IllegalArgumentException();
+        if (k > 0 && n == 0) throw new NoSuchElementException();
+        if (!withReplacement && k > n) throw new IllegalArgumentException();
+
+        List<Item> items = new ArrayList<>(k);
+        if (withReplacement) {
+            for (int i = 0; i < k; i++) items.add(arr[random.uniform(n)]);
+            return items;
+        }
+
+        // the first k steps of Fisher-Yates on the indices, as in the lazy iterator,
+        // so the array itself is not reordered and live iterators stay valid
+        SwapMap swapped = new SwapMap();
+        for (int remaining = n; remaining > n - k; remaining--) {
+            int randInt = random.uniform(remaining);
+            items.add(arr[swapped.get(randInt)]);
+            swapped.put(randInt, swapped.get(remaining - 1));
+        }
+        return items;
+    }
+
+    // remove k random items and store them in dst[0] to dst[k-1]
+    // the array is resized at most once, after all k items are removed
+    public void dequeue(int k, Item[] dst) {
+        if (dst == null || k < 0 || k > dst.length) throw new IllegalArgumentException();
+        if (k > n) throw new NoSuchElementException();
+        if (k == 0) return;
+
+        for (int i = 0; i < k; i++) {
+            // get a random item and swap the end item into its place
+            int randInt = random.uniform(n);
+            dst[i] = arr[randInt];
+            arr[randInt] = arr[--n];
+
+            // avoid loitering
+            arr[n] = null;
+        }
+        modCount++;
+
+        // halve the array as many times as single dequeues would have; those stop shrinking
+        // once the queue is empty, so an emptied queue ends up where the last item left it
+        int capacity = arr.length;
+        while (Math.max(n, 1) <= capacity / 4) capacity /= 2;
+        if (capacity != arr.length) resize(capacity);
+    }
+
+    // remove every item and add them to the collection in random order
+    // returns the number of items moved
+    public int drainShuffled(Collection<? super Item> target) {
+        if (target == null) throw new IllegalArgumentException();
+
+        // shuffle the array in place with Fisher-Yates, then hand the items over in order
+        for (int i = n - 1; i > 0; i--) {
+            int randInt = random.uniform(i + 1);
+            Item swap = arr[i];
+            arr[i] = arr[randInt];
+            arr[randInt] = swap;
+        }
+        int drained = n;
+        target.addAll(Arrays.asList(arr).subList(0, n));
+
+        // start over with an empty array
+        arr = (Item[]) new Object[1];
+        n = 0;
+        modCount++;
+
+        return drained;
+    }
+
     // return an independent iterator over items in random order
     public Iterator<Item> iterator() {
         return new RandomizedQueueIterator();
@@ -119,7 +211,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
             if (curN == 0) throw new NoSuchElementException();
 
             // get a random integer between 0 and curN-1 (the current number of elements in the array)
-            int randInt = StdRandom.uniform(curN);
+            int randInt = random.uniform(curN);
 
             // get the item
             Item item = curArr[randInt];
@@ -133,6 +225,132 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
 
     }
 
+    // return an iterator over items in random order that does its work lazily
+    // unlike iterator() it copies nothing up front: taking k items costs O(k) time and memory,
+    // so reading the first few items of a huge queue is cheap. it is independent of other
+    // iterators, but reads the queue itself, so it throws ConcurrentModificationException if
+    // the queue is changed by enqueue or dequeue while it is in use
+    public Iterator<Item> lazyIterator() {
+        return new LazyIterator();
+    }
+
+    // private class for the lazy randomized queue iterator
+    // runs Fisher-Yates on the indices 0..n-1 without materialising them: only the positions
+    // that have been swapped are stored, in a sparse map from position to index
+    private class LazyIterator implements Iterator<Item> {
+
+        // number of indices not returned yet, they are the positions 0..curN-1
+        private int curN = n;
+
+        // the modCount of the queue when the iterator was created
+        private final int expectedModCount = modCount;
+
+        // positions whose index is not the position itself
+        private final SwapMap swapped = new SwapMap();
+
+        public boolean hasNext() {
+            checkForChanges();
+            return curN != 0;
+        }
+
+        public void remove() {
+            // not supported and not implemented
+            throw new UnsupportedOperationException();
+        }
+
+        public Item next() {
+            checkForChanges();
+
+            // check if there is an element to return
+            if (curN == 0) throw new NoSuchElementException();
+
+            // pick a random remaining position and swap the last remaining position into it
+            int randInt = random.uniform(curN);
+            int index = swapped.get(randInt);
+            swapped.put(randInt, swapped.get(--curN));
+
+            return arr[index];
+        }
+
+        // private function to fail fast if the queue was changed
+        private void checkForChanges() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+
+    }
+
+    // private class for a map from int to int with open addressing and linear probing
+    // a position that was never put maps to itself
+    private static class SwapMap {
+
+        // marks an empty slot, positions are never negative
+        private static final int EMPTY = -1;
+
+        // keys and values, the capacity is always a power of two
+        private int[] keys = newKeys(16);
+        private int[] values = new int[16];
+        private int size = 0;
+
+        // 32 - log2(capacity), so a slot is the top log2(capacity) bits of the hash
+        private int shift = 28;
+
+        // return the value for the key, or the key itself if there is none
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key); keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+            }
+            return key;
+        }
+
+        // set the value for the key
+        void put(int key, int value) {
+            int mask = keys.length - 1;
+            int i = slot(key);
+            while (keys[i] != EMPTY && keys[i] != key) i = (i + 1) & mask;
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                size++;
+            }
+            values[i] = value;
+
+            // keep the table at most half full
+            if (2 * size > keys.length) resize(2 * keys.length);
+        }
+
+        // private function to rehash into a larger table
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(capacity);
+            values = new int[capacity];
+            shift = Integer.numberOfLeadingZeros(capacity) + 1;
+            int mask = capacity - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] == EMPTY) continue;
+                int i = slot(oldKeys[j]);
+                while (keys[i] != EMPTY) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+
+        // private function to spread the keys over the table (Fibonacci hashing)
+        // takes the top bits of the product, which depend on every bit of the key,
+        // as many as the table needs
+        private int slot(int key) {
+            return (key * 0x9E3779B9) >>> shift;
+        }
+
+        // private function to allocate a table of empty slots
+        private static int[] newKeys(int capacity) {
+            int[] keys = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+    }
+
     // unit testing (required)
     public static void main(String[] args) {
         // create a new randomized queue
@@ -208,6 +426,113 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         for (Integer i : myRQ) System.out.print(i + " ");
         System.out.println();
 
+        // iterate lazily, which only does work for the items actually taken
+        System.out.println("Perform some lazy iterations:");
+        for (int j = 0; j < 3; j++) {
+            System.out.print("\t");
+            for (Iterator<Integer> it = myRQ.lazyIterator(); it.hasNext(); ) {
+                System.out.print(it.next() + " ");
+            }
+            System.out.println();
+        }
+
+        // the first few items of a big queue, copying iterator against lazy iterator
+        RandomizedQueue<Integer> big = new RandomizedQueue<>();
+        for (int i = 0; i < 10_000_000; i++) big.enqueue(i);
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            Iterator<Integer> copying = big.iterator();
+            for (int i = 0; i < 10; i++) copying.next();
+            double copyingMs = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            Iterator<Integer> lazy = big.lazyIterator();
+            for (int i = 0; i < 10; i++) lazy.next();
+            double lazyMs = (System.nanoTime() - start) / 1e6;
+
+            System.out.printf("first 10 of 10M items: iterator %.3f ms, lazyIterator %.3f ms%n",
+                              copyingMs, lazyMs);
+        }
+
+        // taking many items stays linear: the time per item should not grow with k
+        for (int k : new int[] { 30_000, 300_000, 3_000_000 }) {
+            boolean[] seen = new boolean[big.size()];
+            long start = System.nanoTime();
+            Iterator<Integer> lazy = big.lazyIterator();
+            int repeated = 0;
+            for (int i = 0; i < k; i++) {
+                int item = lazy.next();
+                if (seen[item]) repeated++;
+                seen[item] = true;
+            }
+            double ms = (System.nanoTime() - start) / 1e6;
+            System.out.printf("first %d of 10M items: lazyIterator %.1f ms (%.0f ns/item), "
+                                      + "%d repeated%n", k, ms, ms * 1e6 / k, repeated);
+        }
+
+        // changing the queue invalidates a lazy iterator
+        Iterator<Integer> stale = myRQ.lazyIterator();
+        myRQ.enqueue(10);
+        try {
+            stale.next();
+        } catch (ConcurrentModificationException e) {
+            System.out.println("lazyIterator after enqueue throws ConcurrentModificationException");
+        }
+
+        // a seeded source gives the same order on every run
+        System.out.println("Seeded dequeues:");
+        for (int run = 0; run < 2; run++) {
+            RandomizedQueue<Integer> seeded = new RandomizedQueue<>(RandomSource.xoshiro(42));
+            for (int i = 1; i < 10; i++) seeded.enqueue(i);
+            System.out.print("\t");
+            while (!seeded.isEmpty()) System.out.print(seeded.dequeue() + " ");
+            System.out.println();
+        }
+
+        // dequeue throughput with each source
+        String[] names = { "stdRandom", "splittable", "threadLocal", "xoshiro" };
+        RandomSource[] sources = { RandomSource.stdRandom(), RandomSource.splittable(42),
+                                   RandomSource.threadLocal(), RandomSource.xoshiro(42) };
+        for (int round = 0; round < 2; round++) {
+            for (int s = 0; s < sources.length; s++) {
+                RandomizedQueue<Integer> rq = new RandomizedQueue<>(sources[s]);
+                Integer item = s;
+                long start = System.nanoTime();
+                for (int i = 0; i < 1 << 22; i++) rq.enqueue(item);
+                long sum = 0;
+                while (!rq.isEmpty()) sum += rq.dequeue();
+                double ms = (System.nanoTime() - start) / 1e6;
+                System.out.printf("%-12s %6.1f ms for 4M enqueues and dequeues (%d)%n",
+                                  names[s], ms, sum);
+            }
+        }
+
+        // batch operations
+        RandomizedQueue<Integer> batch = new RandomizedQueue<>(RandomSource.xoshiro(7));
+        for (int i = 1; i < 10; i++) batch.enqueue(i);
+        System.out.println("sample(5) with replacement " + batch.sample(5, true));
+        System.out.println("sample(5) without replacement " + batch.sample(5, false));
+        Integer[] victims = new Integer[4];
+        batch.dequeue(4, victims);
+        System.out.println("dequeue(4) " + Arrays.toString(victims) + ", size now " + batch.size());
+        List<Integer> rest = new ArrayList<>();
+        System.out.println("drainShuffled moved " + batch.drainShuffled(rest) + " items " + rest
+                                   + ", size now " + batch.size());
+
+        // a large sample without replacement stays linear in k
+        for (int k : new int[] { 30_000, 300_000, 3_000_000 }) {
+            long start = System.nanoTime();
+            List<Integer> picked = big.sample(k, false);
+            double ms = (System.nanoTime() - start) / 1e6;
+            boolean[] seen = new boolean[big.size()];
+            int repeated = 0;
+            for (int item : picked) {
+                if (seen[item]) repeated++;
+                seen[item] = true;
+            }
+            System.out.printf("sample(%d) of 10M items: %.1f ms (%.0f ns/item), %d repeated%n",
+                              k, ms, ms * 1e6 / k, repeated);
+        }
     }
 
 }
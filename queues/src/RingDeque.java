@@ -0,0 +1,204 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class RingDeque<Item> implements Iterable<Item> {
+
+    // smallest capacity the array is ever shrunk to, must be a power of two
+    private static final int MIN_CAPACITY = 8;
+
+    // circular array containing the elements
+    // the capacity is always a power of two so indices wrap with a mask instead of a modulo
+    private Item[] arr;
+    private int mask;
+
+    // index of the first element and the number of elements
+    private int head = 0;
+    private int numElems = 0;
+
+    // construct an empty deque
+    public RingDeque() {
+        arr = (Item[]) new Object[MIN_CAPACITY];
+        mask = MIN_CAPACITY - 1;
+    }
+
+    // is the deque empty?
+    public boolean isEmpty() {
+        return numElems == 0;
+    }
+
+    // return the number of items on the deque
+    public int size() {
+        return numElems;
+    }
+
+    // add the item to the front
+    public void addFirst(Item item) {
+        // check that a null item was not passed
+        if (item == null) throw new IllegalArgumentException();
+
+        // check if the array should be resized
+        if (numElems == arr.length) resize(2 * arr.length);
+
+        // step the head back one position, wrapping around to the end of the array
+        head = (head - 1) & mask;
+        arr[head] = item;
+        numElems++;
+    }
+
+    // add the item to the back
+    public void addLast(Item item) {
+        // check that a null item was not passed
+        if (item == null) throw new IllegalArgumentException();
+
+        // check if the array should be resized
+        if (numElems == arr.length) resize(2 * arr.length);
+
+        // the slot after the last element, wrapping around to the start of the array
+        arr[(head + numElems) & mask] = item;
+        numElems++;
+    }
+
+    // remove and return the item from the front
+    public Item removeFirst() {
+        // check if empty
+        if (numElems == 0) throw new NoSuchElementException();
+
+        // get the item and avoid loitering
+        Item item = arr[head];
+        arr[head] = null;
+
+        // move the head forward
+        head = (head + 1) & mask;
+        numElems--;
+
+        // check if the array should be resized
+        shrinkIfSparse();
+
+        return item;
+    }
+
+    // remove and return the item from the back
+    public Item removeLast() {
+        // check if empty
+        if (numElems == 0) throw new NoSuchElementException();
+
+        // get the item and avoid loitering
+        int tail = (head + numElems - 1) & mask;
+        Item item = arr[tail];
+        arr[tail] = null;
+        numElems--;
+
+        // check if the array should be resized
+        shrinkIfSparse();
+
+        return item;
+    }
+
+    // halve the array once it is a quarter full, but never below MIN_CAPACITY
+    private void shrinkIfSparse() {
+        if (arr.length > MIN_CAPACITY && numElems == arr.length / 4) resize(arr.length / 2);
+    }
+
+    // private function to resize the array when needed
+    // the elements are unwrapped so the first one ends up at index 0
+    private void resize(int capacity) {
+        Item[] copy = (Item[]) new Object[capacity];
+
+        // copy the part from head to the end of the array, then the wrapped-around part
+        int firstPart = Math.min(numElems, arr.length - head);
+        System.arraycopy(arr, head, copy, 0, firstPart);
+        System.arraycopy(arr, 0, copy, firstPart, numElems - firstPart);
+
+        arr = copy;
+        mask = capacity - 1;
+        head = 0;
+    }
+
+    // return an iterator over items in order from front to back
+    public Iterator<Item> iterator() {
+        return new RingDequeIterator();
+    }
+
+    // private class for deque iterator
+    private class RingDequeIterator implements Iterator<Item> {
+        // number of items returned so far
+        private int i = 0;
+
+        public boolean hasNext() {
+            return i < numElems;
+        }
+
+        public void remove() {
+            // not supported and not implemented
+            throw new UnsupportedOperationException();
+        }
+
+        public Item next() {
+            // check if there is an element to return
+            if (i >= numElems) throw new NoSuchElementException();
+
+            return arr[(head + i++) & mask];
+        }
+
+    }
+
+    public static void main(String[] args) {
+        // create a deque of integers
+        RingDeque<Integer> myDeque = new RingDeque<>();
+
+        // check if empty
+        System.out.println("isEmpty? " + myDeque.isEmpty());
+
+        // add elements to the front and back so the contents wrap around the array
+        // after adding each element print out the entire deque
+        for (int i = 5; i >= 1; i--) {
+            myDeque.addFirst(i);
+            for (Integer j : myDeque) System.out.print(j);
+            System.out.println();
+        }
+        for (int i = 6; i <= 9; i++) {
+            myDeque.addLast(i);
+            for (Integer j : myDeque) System.out.print(j);
+            System.out.println();
+        }
+
+        // check the current size
+        System.out.println("Current deque size is " + myDeque.size());
+
+        // remove from the front and back
+        System.out.println("Item removed from the front is " + myDeque.removeFirst());
+        System.out.println("Item removed from the back is " + myDeque.removeLast());
+        for (Integer i : myDeque) System.out.print(i);
+        System.out.println();
+
+        // compare the throughput against the linked deque
+        // each round pushes and pops a million items on both ends, growing and shrinking the array
+        int ops = 1 << 20;
+        for (int round = 0; round < 3; round++) {
+            RingDeque<Integer> ring = new RingDeque<>();
+            Deque<Integer> linked = new Deque<>();
+            Integer item = round;
+            long sum = 0;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ops; i++) {
+                if ((i & 1) == 0) ring.addFirst(item);
+                else ring.addLast(item);
+            }
+            while (!ring.isEmpty()) sum += ring.removeFirst() + ring.removeLast();
+            double ringMs = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ops; i++) {
+                if ((i & 1) == 0) linked.addFirst(item);
+                else linked.addLast(item);
+            }
+            while (!linked.isEmpty()) sum += linked.removeFirst() + linked.removeLast();
+            double linkedMs = (System.nanoTime() - start) / 1e6;
+
+            System.out.printf("round %d: RingDeque %.1f Mops/s, Deque %.1f Mops/s (%d)%n", round,
+                              2 * ops / ringMs / 1e3, 2 * ops / linkedMs / 1e3, sum);
+        }
+    }
+
+}
@@ -0,0 +1,217 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Chase-Lev work-stealing deque
+//
+// one owner thread adds and removes at the back, like a stack, without any locking
+// and, except when taking the very last item, without any compare-and-set.
+// any number of other threads (thieves) may take items from the front concurrently;
+// they compete with each other and with the owner through a compare-and-set on top.
+//
+// addLast, removeLast and pollLast must only be called by the owner thread.
+// removeFirst, pollFirst, size and isEmpty may be called by any thread.
+// there is no addFirst, since the algorithm only lets a single thread add items.
+//
+// the circular array grows when full but never shrinks, and a slot that a thief took
+// an item from stays referenced until the owner reuses it, since a thief cannot safely
+// clear a slot the owner may already have refilled
+public class WorkStealingDeque<Item> {
+
+    // initial capacity, must be a power of two
+    private static final int INITIAL_CAPACITY = 32;
+
+    // atomic access to top and to the array slots
+    private static final VarHandle TOP;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(WorkStealingDeque.class, "top", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // index of the front item, only ever increases, advanced by compare-and-set
+    private volatile long top = 0;
+
+    // index one past the back item, only written by the owner
+    private volatile long bottom = 0;
+
+    // circular array of the items, only replaced by the owner
+    private volatile Object[] arr = new Object[INITIAL_CAPACITY];
+
+    // construct an empty deque
+    public WorkStealingDeque() {
+    }
+
+    // is the deque empty? only a snapshot when other threads are active
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // return the number of items on the deque, only a snapshot when other threads are active
+    public int size() {
+        long size = bottom - top;
+        return size <= 0 ? 0 : (int) size;
+    }
+
+    // add the item to the back (owner only)
+    public void addLast(Item item) {
+        // check that a null item was not passed
+        if (item == null) throw new IllegalArgumentException();
+
+        long b = bottom;
+        long t = top;
+        Object[] a = arr;
+
+        // check if the array should be resized
+        if (b - t >= a.length) a = grow(a, t, b);
+
+        // write the item before publishing it through bottom
+        SLOT.setRelease(a, (int) b & (a.length - 1), item);
+        bottom = b + 1;
+    }
+
+    // remove and return the item from the back (owner only)
+    public Item removeLast() {
+        Item item = pollLast();
+        if (item == null) throw new NoSuchElementException();
+        return item;
+    }
+
+    // remove and return the item from the back, or null if empty (owner only)
+    public Item pollLast() {
+        // claim the back slot first, so thieves that read bottom from now on stop short of it
+        long b = bottom - 1;
+        Object[] a = arr;
+        bottom = b;
+        long t = top;
+
+        // the deque was empty, undo the claim
+        if (t > b) {
+            bottom = b + 1;
+            return null;
+        }
+
+        int i = (int) b & (a.length - 1);
+        Item item = (Item) SLOT.getAcquire(a, i);
+
+        // more than one item, so no thief can reach this one
+        if (t < b) {
+            // avoid loitering
+            SLOT.setRelease(a, i, null);
+            return item;
+        }
+
+        // the last item, race the thieves for it through top
+        if (!TOP.compareAndSet(this, t, t + 1)) item = null;
+        bottom = b + 1;
+        return item;
+    }
+
+    // remove and return the item from the front (any thread)
+    public Item removeFirst() {
+        Item item = pollFirst();
+        if (item == null) throw new NoSuchElementException();
+        return item;
+    }
+
+    // remove and return the item from the front, or null if empty (any thread)
+    // retries when it loses a race for an item, so null always means the deque was seen empty
+    public Item pollFirst() {
+        while (true) {
+            long t = top;
+            long b = bottom;
+            if (t >= b) return null;
+
+            // read the item before claiming it; if the array is replaced meanwhile the old
+            // one still holds every item between top and bottom
+            Object[] a = arr;
+            Item item = (Item) SLOT.getAcquire(a, (int) t & (a.length - 1));
+            if (TOP.compareAndSet(this, t, t + 1)) return item;
+        }
+    }
+
+    // private function to double the array, copying the items between top and bottom
+    private Object[] grow(Object[] a, long t, long b) {
+        Object[] copy = new Object[2 * a.length];
+        for (long i = t; i < b; i++) {
+            copy[(int) i & (copy.length - 1)] = a[(int) i & (a.length - 1)];
+        }
+        arr = copy;
+        return copy;
+    }
+
+    // stress test: the owner pushes and pops while the thieves (one per other core, at
+    // least three) steal, then checks that each item was taken exactly once
+    public static void main(String[] args) throws InterruptedException {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int thieves = args.length > 1 ? Integer.parseInt(args[1])
+                                      : Math.max(3, Runtime.getRuntime().availableProcessors() - 1);
+
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        QueueChecks.ExactlyOnce taken = new QueueChecks.ExactlyOnce(items);
+        AtomicLong stolen = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+
+        Thread[] workers = new Thread[thieves];
+        for (int w = 0; w < thieves; w++) {
+            workers[w] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long count = 0;
+                while (true) {
+                    Integer item = deque.pollFirst();
+                    if (item != null) {
+                        taken.take(item);
+                        count++;
+                    } else if (done.get()) {
+                        break;
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                }
+                stolen.addAndGet(count);
+            });
+            workers[w].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        long popped = 0;
+        for (int i = 0; i < items; i++) {
+            deque.addLast(i);
+
+            // every fourth push the owner also takes one back, like a worker running a task
+            if ((i & 3) == 3) {
+                Integer item = deque.pollLast();
+                if (item != null) {
+                    taken.take(item);
+                    popped++;
+                }
+            }
+        }
+        Integer item;
+        while ((item = deque.pollLast()) != null) {
+            taken.take(item);
+            popped++;
+        }
+        done.set(true);
+        for (Thread worker : workers) worker.join();
+        double millis = (System.nanoTime() - begin) / 1e6;
+
+        System.out.printf("%d items, %d thieves, %.0f ms: owner took %d, thieves took %d%n",
+                          items, thieves, millis, popped, stolen.get());
+        taken.report();
+    }
+
+}
@@ -0,0 +1,56 @@
+// xoshiro256++ random number generator (Blackman and Vigna)
+//
+// 256 bits of state, a period of 2^256 - 1 and only a few shifts, rotations and xors
+// per number; not thread-safe, each thread or queue should have its own
+public class XoshiroRandom implements RandomSource {
+
+    // the state, never all zero
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    // create a generator whose state is expanded from the seed with splitmix64
+    public XoshiroRandom(long seed) {
+        s0 = splitMix(seed += 0x9e3779b97f4a7c15L);
+        s1 = splitMix(seed += 0x9e3779b97f4a7c15L);
+        s2 = splitMix(seed += 0x9e3779b97f4a7c15L);
+        s3 = splitMix(seed + 0x9e3779b97f4a7c15L);
+    }
+
+    // return the next 64 random bits
+    public long nextLong() {
+        long result = Long.rotateLeft(s0 + s3, 23) + s0;
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    // return a uniformly random integer in [0, n)
+    // Lemire's multiply-shift method: the high half of a 32 x 32 bit product, with the
+    // rare values that would bias the result rejected
+    public int uniform(int n) {
+        if (n <= 0) throw new IllegalArgumentException();
+
+        long product = (nextLong() >>> 32) * n;
+        if ((product & 0xFFFFFFFFL) < n) {
+            // the low half is below n, reject the low halves below 2^32 mod n
+            long threshold = (1L << 32) % n;
+            while ((product & 0xFFFFFFFFL) < threshold) product = (nextLong() >>> 32) * n;
+        }
+        return (int) (product >>> 32);
+    }
+
+    // private function to scramble a seed into well-mixed state
+    private static long splitMix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+}